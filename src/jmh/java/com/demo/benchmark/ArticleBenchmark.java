@@ -0,0 +1,38 @@
+package com.demo.benchmark;
+
+import com.demo.entity.Article;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章摘要生成基准
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticleBenchmark {
+
+    /** 正文长度：短于摘要长度 / 典型长度 */
+    @Param({"80", "5000"})
+    public int contentLength;
+
+    private Article article;
+
+    @Setup
+    public void setUp() {
+        article = Article.builder()
+                .title("benchmark")
+                .content("内容".repeat(contentLength / 2))
+                .build();
+    }
+
+    @Benchmark
+    public String generateSummary() {
+        article.generateSummary();
+        return article.getSummary();
+    }
+}
@@ -0,0 +1,31 @@
+package com.demo.benchmark;
+
+import com.demo.util.DateUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 时间戳格式化基准（文章与用户响应中的 createTime 等字段）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilBenchmark {
+
+    private LocalDateTime dateTime;
+
+    @Setup
+    public void setUp() {
+        dateTime = LocalDateTime.of(2024, 5, 1, 12, 30, 45);
+    }
+
+    @Benchmark
+    public String toEpochSecondString() {
+        return DateUtil.toEpochSecondString(dateTime);
+    }
+}
@@ -0,0 +1,57 @@
+package com.demo.benchmark;
+
+import com.demo.dto.response.ApiResponse;
+import com.demo.dto.response.ArticleListItemResponse;
+import com.demo.dto.response.ArticleListResponse;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章列表响应的JSON序列化基准（与Spring MVC相同的Jackson 3）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    /** 每页条数 */
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private JsonMapper mapper;
+    private ApiResponse<ArticleListResponse> response;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().build();
+        List<ArticleListItemResponse> list = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            list.add(ArticleListItemResponse.builder()
+                    .articleId(String.valueOf(i + 1))
+                    .title("标题 " + i)
+                    .summary("这是第" + i + "篇文章的摘要".repeat(5))
+                    .authorName("Alice")
+                    .createTime("1714537845")
+                    .viewCount(i * 10)
+                    .build());
+        }
+        response = ApiResponse.success(ArticleListResponse.builder()
+                .total(1000L)
+                .page(1)
+                .pageSize(pageSize)
+                .list(list)
+                .build());
+    }
+
+    @Benchmark
+    public byte[] serializeArticleList() {
+        return mapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,57 @@
+package com.demo.benchmark;
+
+import com.demo.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT生成与解析基准
+ * getUsernameFromToken 命中已验证Token缓存时的开销，与首次验签（缓存容量为1、轮换Token）对比
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET =
+            "MyBlogSecretKeyForHS512AlgorithmMustBeAtLeast512BitsOrSixtyFourCharacters2024!!";
+
+    private JwtTokenProvider provider;
+    private JwtTokenProvider uncachedProvider;
+    private String token;
+    private String[] rotatingTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(SECRET, 3600000L, 10000, new SimpleMeterRegistry());
+        uncachedProvider = new JwtTokenProvider(SECRET, 3600000L, 1, new SimpleMeterRegistry());
+        token = provider.generateToken(1L, "alice");
+        rotatingTokens = new String[2];
+        for (int i = 0; i < rotatingTokens.length; i++) {
+            rotatingTokens[i] = provider.generateToken((long) i, "user" + i);
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return provider.generateToken(1L, "alice");
+    }
+
+    @Benchmark
+    public String getUsernameFromTokenCached() {
+        return provider.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromTokenVerify() {
+        // 两个Token交替访问容量为1的缓存，每次都会重新验签
+        next ^= 1;
+        return uncachedProvider.getUsernameFromToken(rotatingTokens[next]);
+    }
+}
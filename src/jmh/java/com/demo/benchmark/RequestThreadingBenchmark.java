@@ -0,0 +1,86 @@
+package com.demo.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 请求线程模型基准：平台线程池（模拟Tomcat默认200个工作线程）与每请求一个虚拟线程的对比
+ * 每个请求从小容量的连接池（信号量模拟）借出连接、阻塞等待一次数据库往返后归还；
+ * 每次调用并发提交 requests 个请求，测量全部完成的耗时。
+ * virtual 模式需要JDK 21+，在更低版本上该组参数会在Setup阶段失败，其余参数照常运行。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestThreadingBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"2000"})
+    public int requests;
+
+    @Param({"10"})
+    public int connections;
+
+    @Param({"1000"})
+    public int queryMicros;
+
+    private ExecutorService executor;
+    private Semaphore connectionPool;
+
+    @Setup
+    public void setUp() throws Exception {
+        connectionPool = new Semaphore(connections, true);
+        if ("virtual".equals(mode)) {
+            // 通过反射创建，保证在JDK 17上也能编译
+            try {
+                executor = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("virtual 模式需要JDK 21+，当前为 " + Runtime.version(), e);
+            }
+        } else {
+            executor = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int handleRequests() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            futures.add(executor.submit(this::handleRequest));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return futures.size();
+    }
+
+    private void handleRequest() {
+        connectionPool.acquireUninterruptibly();
+        try {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(queryMicros));
+        } finally {
+            connectionPool.release();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.demo.service;
+
+import com.demo.dto.response.ArticleListItemResponse;
+import com.demo.repository.ArticleListRow;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章列表行到列表项DTO的映射基准
+ * 位于 com.demo.service 包内以调用包内可见的 ArticleService.toListItem
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticleMappingBenchmark {
+
+    private ArticleService articleService;
+    private ArticleListRow row;
+
+    @Setup
+    public void setUp() {
+        // toListItem 不访问依赖
+        articleService = new ArticleService(null, null, null, null, null, null, null, null, null, null, 100);
+        row = new ArticleListRow(1L, "标题", "正文".repeat(50) + "...", "Alice",
+                LocalDateTime.of(2024, 5, 1, 12, 30, 45), 42);
+    }
+
+    @Benchmark
+    public ArticleListItemResponse toListItem() {
+        return articleService.toListItem(row);
+    }
+}
@@ -0,0 +1,70 @@
+package com.demo.config;
+
+import com.demo.security.AuthenticatedUser;
+import com.demo.util.LocalCache;
+import com.demo.util.ReplicaRouting;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 读己之写
+ * 用户的写请求成功后，在 replica.read-your-writes-ms 时间窗口内该用户的所有查询都使用主库，
+ * 不会因副本复制延迟读不到自己刚写入的数据。窗口为0（默认）或未配置副本时不生效。
+ * 需要认证信息，在 JwtAuthenticationFilter 之后执行。
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final boolean enabled;
+    private final LocalCache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(@Value("${replica.urls:}") String replicaUrls,
+                                @Value("${replica.read-your-writes-ms:0}") long windowMillis,
+                                @Value("${replica.read-your-writes-max-users:100000}") int maxUsers) {
+        this.enabled = !replicaUrls.isBlank() && windowMillis > 0;
+        this.recentWriters = new LocalCache<>(maxUsers, Duration.ofMillis(Math.max(windowMillis, 1)));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Long userId = currentUserId();
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try (ReplicaRouting.Scope ignored = recentWriters.get(userId) != null ? ReplicaRouting.pinPrimary() : null) {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!READ_METHODS.contains(request.getMethod()) && response.getStatus() < 400) {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal
+                ? principal.getUserId() : null;
+    }
+}
@@ -0,0 +1,91 @@
+package com.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离数据源配置
+ * 配置了 replica.urls 时生效：主库仍使用 spring.datasource.*，只读事务路由到副本；未配置时使用默认的单一数据源。
+ * 路由以事务为单位，Hibernate 会话在每个事务结束后释放连接。
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${replica.urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties,
+                                               Environment environment,
+                                               ObjectProvider<MeterRegistry> meterRegistry,
+                                               @Value("${replica.urls}") List<String> urls,
+                                               @Value("${replica.username:${spring.datasource.username:}}") String username,
+                                               @Value("${replica.password:${spring.datasource.password:}}") String password,
+                                               @Value("${replica.maximum-pool-size:10}") int maximumPoolSize,
+                                               @Value("${replica.connection-timeout-ms:1000}") long connectionTimeoutMs,
+                                               @Value("${replica.validation-timeout-seconds:1}") int validationTimeoutSeconds) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            // 路由数据源无法 unwrap 到主库连接池，Boot 不会自动绑定主库的连接池指标
+            primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            if (properties.getDriverClassName() != null) {
+                replica.setDriverClassName(properties.getDriverClassName());
+            }
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            // 副本不可用时也能启动，由健康检查和主库回退处理
+            replica.setInitializationFailTimeout(-1);
+            if (registry != null) {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            replicas.add(replica);
+        }
+
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replicas, validationTimeoutSeconds);
+        if (registry != null) {
+            Gauge.builder("db.replicas.healthy", dataSource, ReplicaRoutingDataSource::healthyReplicaCount)
+                    .description("当前可用的只读副本数")
+                    .register(registry);
+        }
+        return dataSource;
+    }
+
+    /**
+     * 每个事务结束后释放连接
+     * Spring 默认让 Hibernate 会话持有第一次获取的连接直到会话关闭，会话跨越多个事务时
+     * （如 open-in-view 或在事务外复用的 EntityManager）之后的事务会沿用第一个事务选定的库；
+     * 改为事务结束即释放后，每个事务按自己的只读标记重新路由。
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
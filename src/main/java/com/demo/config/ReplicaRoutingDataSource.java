@@ -0,0 +1,139 @@
+package com.demo.config;
+
+import com.demo.util.ReplicaRouting;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读写分离数据源
+ * 连接在第一次执行语句时才真正获取：只读事务轮询使用健康的副本，其余使用主库。
+ * 只读事务以连接的只读标记（DataSourceTransactionManager 设置）或当前事务的只读标记
+ * （JpaTransactionManager，连接按事务释放时不设置连接的只读标记）判断。
+ * 副本获取连接失败时标记为不可用并尝试下一个，全部不可用或处于 ReplicaRouting 主库作用域时使用主库；
+ * 定时健康检查把恢复的副本重新加入轮询。
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    int validationTimeoutSeconds) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        setTargetDataSource(new TransactionAwareDataSource());
+        setReadOnlyDataSource(new ReadOnlyDataSource());
+        afterPropertiesSet();
+    }
+
+    /**
+     * 当前可用的副本数
+     */
+    public int healthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * 副本健康检查
+     */
+    @Scheduled(fixedDelayString = "${replica.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy && !replica.healthy) {
+                log.info("只读副本 {} 已恢复", replica.dataSource.getPoolName());
+            } else if (!healthy && replica.healthy) {
+                log.warn("只读副本 {} 健康检查失败，只读查询暂时不再路由到该副本", replica.dataSource.getPoolName());
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    private Connection readOnlyConnection() throws SQLException {
+        if (!ReplicaRouting.primaryRequired()) {
+            int size = replicas.size();
+            int start = Math.floorMod(next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.healthy = false;
+                    log.warn("只读副本 {} 获取连接失败，只读查询暂时不再路由到该副本", replica.dataSource.getPoolName(), e);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * 只读连接的来源：副本优先，回退到主库
+     * 副本连接池使用配置的账号，指定用户名获取连接时与普通连接一样交给主库处理
+     */
+    private class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readOnlyConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+    }
+
+    /**
+     * 连接未标记只读时的来源：当前事务为只读事务时走副本，否则走主库
+     */
+    private class TransactionAwareDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    ? readOnlyConnection()
+                    : primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
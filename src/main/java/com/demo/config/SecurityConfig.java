@@ -1,9 +1,13 @@
 package com.demo.config;
 
 import com.demo.security.JwtAuthenticationFilter;
+import com.demo.security.RateLimitFilter;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -18,13 +22,19 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.Set;
 
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    /** 监控端口上无需认证的端点：健康检查与Prometheus抓取 */
+    private static final Set<String> PUBLIC_MANAGEMENT_PATHS = Set.of("/actuator/health", "/actuator/prometheus");
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ReadYourWritesFilter readYourWritesFilter;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -37,26 +47,42 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           @Value("${management.server.port:-1}") int managementPort) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         // 公开接口：注册、登录、获取用户资料
+                        // 带路径变量的公开接口只放行GET，避免 /api/article/create、/api/user/follow 等写接口被匹配
                         .requestMatchers("/api/user/register", "/api/user/login").permitAll()
-                        .requestMatchers("/api/user/{userId}").permitAll()
-                        // 文章相关公开接口：获取列表、获取详情
-                        .requestMatchers("/api/article/list").permitAll()
-                        .requestMatchers("/api/article/{articleId}").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/user/{userId}", "/api/user/{userId}/articles").permitAll()
+                        // 文章相关公开接口：获取列表、检索、获取详情
+                        .requestMatchers(HttpMethod.GET, "/api/article/list", "/api/article/search").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/article/{articleId}").permitAll()
+                        // 健康检查与Prometheus抓取端点只在独立的监控端口（内网）上公开，其他监控端点需要认证
+                        .requestMatchers(request -> isPublicManagementEndpoint(request, managementPort)).permitAll()
                         // 其他接口需要认证
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(readYourWritesFilter, RateLimitFilter.class);
 
         return http.build();
     }
 
+    /**
+     * 是否为监控端口上的公开端点；未配置独立监控端口时不放行，业务端口上的监控端点都需要认证
+     */
+    private static boolean isPublicManagementEndpoint(HttpServletRequest request, int managementPort) {
+        return managementPort > 0
+                && request.getLocalPort() == managementPort
+                && HttpMethod.GET.matches(request.getMethod())
+                && PUBLIC_MANAGEMENT_PATHS.contains(request.getRequestURI());
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,58 @@
+package com.demo.config;
+
+import com.demo.util.SqlStatementStats;
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SQL语句统计配置
+ * 通过 StatementInspector 记录Hibernate发出的每条SQL，通过会话事件监听器记录JDBC执行耗时，
+ * 写入当前线程的 SqlStatementStats。JdbcTemplate 直接执行的语句（批量导入、计数写回等）不在统计范围内。
+ */
+@Configuration(proxyBeanMethods = false)
+public class SqlMonitorConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementStatsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                SqlStatementStats.recordStatement(sql);
+                return sql;
+            });
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+        };
+    }
+
+    /**
+     * 记录JDBC执行耗时；Hibernate为每个会话创建一个实例，会话只在单个线程中使用
+     */
+    public static class JdbcTimingListener implements SessionEventListener {
+
+        private long statementStart;
+        private long batchStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            statementStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            SqlStatementStats.recordJdbcTime(System.nanoTime() - statementStart);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batchStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            SqlStatementStats.recordJdbcTime(System.nanoTime() - batchStart);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.demo.config;
+
+import com.demo.util.SqlStatementStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求级SQL语句预算
+ * 在安全过滤器之前开始统计，认证阶段的查询也计入；请求结束后语句数超出预算的记WARN日志，
+ * 同一语句重复执行达到阈值的按疑似N+1记WARN日志，其余请求的统计记DEBUG日志。
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final boolean enabled;
+    private final int maxStatements;
+    private final int repeatThreshold;
+
+    public SqlStatementFilter(@Value("${sql.monitor.enabled:true}") boolean enabled,
+                              @Value("${sql.monitor.max-statements:10}") int maxStatements,
+                              @Value("${sql.monitor.repeat-threshold:3}") int repeatThreshold) {
+        this.enabled = enabled;
+        this.maxStatements = maxStatements;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        request.setAttribute(SqlStatementStats.REQUEST_ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats.close();
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        int count = stats.statementCount();
+        long jdbcMillis = TimeUnit.NANOSECONDS.toMillis(stats.jdbcTimeNanos());
+        if (count > maxStatements) {
+            log.warn("SQL语句数超出预算：{} {} 执行 {} 条（预算 {}），JDBC耗时 {}ms",
+                    request.getMethod(), request.getRequestURI(), count, maxStatements, jdbcMillis);
+        } else if (log.isDebugEnabled()) {
+            log.debug("SQL统计：{} {} 执行 {} 条，JDBC耗时 {}ms",
+                    request.getMethod(), request.getRequestURI(), count, jdbcMillis);
+        }
+
+        if (count < repeatThreshold) {
+            return;
+        }
+        for (Map.Entry<String, Integer> entry : stats.repeatedStatements(repeatThreshold).entrySet()) {
+            log.warn("疑似N+1查询：{} {} 同一语句执行 {} 次：{}",
+                    request.getMethod(), request.getRequestURI(), entry.getValue(), abbreviate(entry.getKey()));
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        String singleLine = sql.replaceAll("\\s+", " ").trim();
+        return singleLine.length() <= MAX_LOGGED_SQL_LENGTH
+                ? singleLine : singleLine.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
@@ -3,17 +3,27 @@ package com.demo.controller;
 import com.demo.dto.request.CreateArticleRequest;
 import com.demo.dto.request.UpdateArticleRequest;
 import com.demo.dto.response.*;
-import com.demo.entity.User;
-import com.demo.exception.BusinessException;
-import com.demo.exception.ErrorCode;
-import com.demo.repository.UserRepository;
-import com.demo.security.JwtTokenProvider;
+import com.demo.security.AuthenticatedUser;
+import com.demo.service.ArticleImportService;
+import com.demo.service.ArticleDetailCache;
+import com.demo.service.ArticleListVersion;
+import com.demo.service.ArticleResponseCache;
+import com.demo.service.ArticleSearchIndex;
 import com.demo.service.ArticleService;
+import com.demo.util.ReplicaRouting;
+import com.demo.util.ResponseBytes;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.InputStream;
 
 /**
  * 文章控制器
@@ -24,24 +34,20 @@ import org.springframework.web.bind.annotation.*;
 public class ArticleController {
 
     private final ArticleService articleService;
-    private final JwtTokenProvider jwtTokenProvider;
-    private final UserRepository userRepository;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleImportService articleImportService;
+    private final ArticleResponseCache articleResponseCache;
 
     /**
      * 创建文章 - 返回201状态码
      */
     @PostMapping("/create")
     public ResponseEntity<ApiResponse<ArticleCreateResponse>> createArticle(
-            @RequestHeader("Authorization") String token,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @Valid @RequestBody CreateArticleRequest request) {
 
-        // 从token获取当前用户
-        String username = jwtTokenProvider.getUsernameFromToken(token.replace("Bearer ", ""));
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new BusinessException(ErrorCode.UNAUTHORIZED));
-
         // 创建文章
-        ArticleCreateResponse response = articleService.createArticle(request, currentUser.getUserId());
+        ArticleCreateResponse response = articleService.createArticle(request, principal.getUserId());
 
         // 构建响应
         ApiResponse<ArticleCreateResponse> apiResponse = ApiResponse.<ArticleCreateResponse>builder()
@@ -52,16 +58,61 @@ public class ArticleController {
         return ResponseEntity.status(HttpStatus.CREATED).body(apiResponse);  // 201 Created
     }
 
+    /**
+     * 批量导入文章 - 返回200状态码
+     * 请求体为NDJSON，每行一篇文章：{"title","content","tags","category","createTime"}，边读边写入，不限大小
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ApiResponse<ArticleImportResponse>> importArticles(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            InputStream body) {
+
+        // 导入文章
+        ArticleImportResponse response = articleImportService.importArticles(body, principal.getUserId());
+
+        // 构建响应
+        ApiResponse<ArticleImportResponse> apiResponse = ApiResponse.<ArticleImportResponse>builder()
+                .errorCode(0)
+                .data(response)
+                .build();
+
+        return ResponseEntity.ok(apiResponse);  // 200 OK
+    }
+
     /**
      * 获取文章列表 - 返回200状态码
+     * 传入cursor参数（首页传空字符串）时使用游标分页，否则按page/pageSize分页
+     * total默认为近似值，exactTotal=true时返回精确总数
+     * 可按tag、category筛选，筛选时只在exactTotal=true时返回总数
+     * 支持条件请求（If-None-Match / If-Modified-Since），任何文章写入后校验值变化
+     * 第一页直接输出缓存的响应字节（客户端接受时为gzip）
      */
     @GetMapping("/list")
-    public ResponseEntity<ApiResponse<ArticleListResponse>> getArticleList(
+    public ResponseEntity<?> getArticleList(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer pageSize) {
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean exactTotal,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String category,
+            ServletWebRequest webRequest) {
+
+        // 条件请求：列表版本未变化时返回304，不查询列表
+        ArticleListVersion.Stamp version = articleService.getListVersion();
+        if (notModified(webRequest, version.tag(), version.lastModified())) {
+            return null;
+        }
+
+        // 第一页：缓存键包含列表版本，文章写入后自动换键；从主库加载，避免新版本缓存副本上的旧数据
+        ResponseBytes cached = articleResponseCache.listFirstPage(version, page, pageSize, cursor, exactTotal,
+                tag, category, () -> ReplicaRouting.onPrimary(
+                        () -> loadArticleList(page, pageSize, cursor, exactTotal, tag, category)));
+        if (cached != null) {
+            return bytes(webRequest, cached, null);
+        }
 
         // 获取文章列表
-        ArticleListResponse response = articleService.getArticleList(page, pageSize);
+        ArticleListResponse response = loadArticleList(page, pageSize, cursor, exactTotal, tag, category);
 
         // 构建响应
         ApiResponse<ArticleListResponse> apiResponse = ApiResponse.<ArticleListResponse>builder()
@@ -73,17 +124,20 @@ public class ArticleController {
     }
 
     /**
-     * 获取文章详情 - 返回200状态码
+     * 全文检索文章 - 返回200状态码
+     * 按相关度排序，支持中文
      */
-    @GetMapping("/{articleId}")
-    public ResponseEntity<ApiResponse<ArticleDetailResponse>> getArticleDetail(
-            @PathVariable Long articleId) {
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<ArticleListResponse>> searchArticles(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer pageSize) {
 
-        // 获取文章详情
-        ArticleDetailResponse response = articleService.getArticleDetail(articleId);
+        // 检索文章
+        ArticleListResponse response = articleService.searchArticles(q, page, pageSize);
 
         // 构建响应
-        ApiResponse<ArticleDetailResponse> apiResponse = ApiResponse.<ArticleDetailResponse>builder()
+        ApiResponse<ArticleListResponse> apiResponse = ApiResponse.<ArticleListResponse>builder()
                 .errorCode(0)
                 .data(response)
                 .build();
@@ -91,22 +145,53 @@ public class ArticleController {
         return ResponseEntity.ok(apiResponse);  // 200 OK
     }
 
+    /**
+     * 检索索引统计（内存占用与查询耗时） - 返回200状态码
+     */
+    @GetMapping("/search/stats")
+    public ResponseEntity<ApiResponse<ArticleSearchIndex.Stats>> getSearchStats() {
+        return ResponseEntity.ok(ApiResponse.success(articleSearchIndex.stats()));  // 200 OK
+    }
+
+    /**
+     * 获取文章详情 - 返回200状态码
+     * 支持条件请求：文章未修改时返回304，不加载正文，但仍计入阅读量；
+     * 非条件请求不单独查询修改时间，由详情快照设置 ETag/Last-Modified
+     * 直接输出缓存的响应字节，只在输出时填入实时阅读量
+     */
+    @GetMapping("/{articleId}")
+    public ResponseEntity<byte[]> getArticleDetail(
+            @PathVariable Long articleId,
+            ServletWebRequest webRequest) {
+
+        // 条件请求
+        if (isConditional(webRequest)) {
+            long lastModified = articleService.getArticleLastModified(articleId);
+            if (notModified(webRequest, articleId + "-" + lastModified, lastModified)) {
+                articleService.recordView(articleId);
+                return null;
+            }
+        }
+
+        // 获取文章详情快照并计入阅读量
+        ArticleDetailCache.Entry entry = articleService.getArticleDetailEntry(articleId);
+        notModified(webRequest, articleId + "-" + entry.lastModified(), entry.lastModified());
+        long viewCount = articleService.recordView(articleId, entry);
+
+        return bytes(webRequest, articleResponseCache.detail(entry), String.valueOf((int) viewCount));  // 200 OK
+    }
+
     /**
      * 更新文章 - 返回200状态码
      */
     @PutMapping("/{articleId}")
     public ResponseEntity<ApiResponse<ArticleUpdateResponse>> updateArticle(
             @PathVariable Long articleId,
-            @RequestHeader("Authorization") String token,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @Valid @RequestBody UpdateArticleRequest request) {
 
-        // 从token获取当前用户
-        String username = jwtTokenProvider.getUsernameFromToken(token.replace("Bearer ", ""));
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new BusinessException(ErrorCode.UNAUTHORIZED));
-
         // 更新文章
-        ArticleUpdateResponse response = articleService.updateArticle(articleId, request, currentUser.getUserId());
+        ArticleUpdateResponse response = articleService.updateArticle(articleId, request, principal.getUserId());
 
         // 构建响应
         ApiResponse<ArticleUpdateResponse> apiResponse = ApiResponse.<ArticleUpdateResponse>builder()
@@ -123,15 +208,10 @@ public class ArticleController {
     @DeleteMapping("/{articleId}")
     public ResponseEntity<ApiResponse<Void>> deleteArticle(
             @PathVariable Long articleId,
-            @RequestHeader("Authorization") String token) {
-
-        // 从token获取当前用户
-        String username = jwtTokenProvider.getUsernameFromToken(token.replace("Bearer ", ""));
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new BusinessException(ErrorCode.UNAUTHORIZED));
+            @AuthenticationPrincipal AuthenticatedUser principal) {
 
         // 删除文章
-        articleService.deleteArticle(articleId, currentUser.getUserId());
+        articleService.deleteArticle(articleId, principal.getUserId());
 
         // 构建响应 - 删除成功只需要error_code和message，不需要data
         ApiResponse<Void> apiResponse = ApiResponse.<Void>builder()
@@ -141,4 +221,44 @@ public class ArticleController {
 
         return ResponseEntity.ok(apiResponse);  // 200 OK
     }
-}
\ No newline at end of file
+
+    /**
+     * 校验条件请求，客户端缓存仍有效时写出304并返回true
+     * 使用弱ETag：响应中的阅读量每次访问都会变化，内容未修改时视为语义等价；
+     * Cache-Control: no-cache 允许客户端和CDN保存响应，但每次使用前都回源校验，保证阅读量计数
+     */
+    private static boolean notModified(ServletWebRequest webRequest, String tag, long lastModified) {
+        if (webRequest.getResponse() != null) {
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+        return webRequest.checkNotModified("W/\"" + tag + "\"", lastModified);
+    }
+
+    /**
+     * 请求是否携带校验器（If-None-Match 或 If-Modified-Since）
+     */
+    private static boolean isConditional(ServletWebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private ArticleListResponse loadArticleList(Integer page, Integer pageSize, String cursor, boolean exactTotal,
+                                                String tag, String category) {
+        return cursor != null
+                ? articleService.getArticleListByCursor(cursor, pageSize, tag, category)
+                : articleService.getArticleList(page, pageSize, exactTotal, tag, category);
+    }
+
+    /**
+     * 输出预序列化的响应字节：客户端接受gzip时输出压缩变体，insert 为插入点的值（没有插入点时为null）
+     */
+    private static ResponseEntity<byte[]> bytes(ServletWebRequest webRequest, ResponseBytes body, String insert) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (ResponseBytes.acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip(insert));
+        }
+        return builder.body(body.plain(insert));
+    }
+}
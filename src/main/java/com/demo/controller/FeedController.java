@@ -0,0 +1,46 @@
+package com.demo.controller;
+
+import com.demo.dto.response.ApiResponse;
+import com.demo.dto.response.ArticleListResponse;
+import com.demo.security.AuthenticatedUser;
+import com.demo.service.ArticleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 关注流控制器
+ */
+@RestController
+@RequestMapping("/api/feed")
+@RequiredArgsConstructor
+public class FeedController {
+
+    private final ArticleService articleService;
+
+    /**
+     * 获取关注流 - 返回200状态码
+     * 首页不传cursor，之后传入上一页返回的nextCursor
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<ArticleListResponse>> getFeed(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer pageSize) {
+
+        // 获取关注流
+        ArticleListResponse response = articleService.getFeed(principal.getUserId(), cursor, pageSize);
+
+        // 构建响应
+        ApiResponse<ArticleListResponse> apiResponse = ApiResponse.<ArticleListResponse>builder()
+                .errorCode(0)
+                .data(response)
+                .build();
+
+        return ResponseEntity.ok(apiResponse);  // 200 OK
+    }
+}
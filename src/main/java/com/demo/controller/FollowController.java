@@ -1,44 +1,68 @@
 package com.demo.controller;
 
+import com.demo.dto.request.BatchFollowRequest;
 import com.demo.dto.request.FollowRequest;
+import com.demo.dto.response.ApiResponse;
+import com.demo.dto.response.BatchFollowResponse;
 import com.demo.dto.response.MessageResponse;
-import com.demo.entity.User;
-import com.demo.exception.BusinessException;
-import com.demo.exception.ErrorCode;
-import com.demo.repository.UserRepository;
-import com.demo.security.JwtTokenProvider;
+import com.demo.security.AuthenticatedUser;
 import com.demo.service.FollowService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
 @RestController
 @RequestMapping("/api/user")
 @RequiredArgsConstructor
 public class FollowController {
     private final FollowService followService;
-    private final JwtTokenProvider jwtTokenProvider;
-    private final UserRepository userRepository;
     /**添加关注*/
     @PostMapping("/follow")
     public ResponseEntity<MessageResponse> followUser(
-            @RequestHeader("Authorization") String token,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @Valid @RequestBody FollowRequest request) {
-        String username = jwtTokenProvider.getUsernameFromToken(token.replace("Bearer ", ""));
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new BusinessException(ErrorCode.UNAUTHORIZED));
-        followService.followUser(currentUser.getUserId(), request.getFollowedUserId());
+        followService.followUser(principal.getUserId(), request.getFollowedUserId());
         return ResponseEntity.ok(MessageResponse.of("User followed successfully"));
     }
     /*** 取消关注*/
     @DeleteMapping("/unfollow")
     public ResponseEntity<MessageResponse> unfollowUser(
-            @RequestHeader("Authorization") String token,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @Valid @RequestBody FollowRequest request) {
-        String username = jwtTokenProvider.getUsernameFromToken(token.replace("Bearer ", ""));
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new BusinessException(ErrorCode.UNAUTHORIZED));
-        followService.unfollowUser(currentUser.getUserId(), request.getFollowedUserId());
+        followService.unfollowUser(principal.getUserId(), request.getFollowedUserId());
         return ResponseEntity.ok(MessageResponse.of("User unfollowed successfully"));
     }
+    /**批量查询关注状态：当前用户是否关注了每个用户，userIds以逗号分隔*/
+    @GetMapping("/follow/status")
+    public ResponseEntity<ApiResponse<Map<Long, Boolean>>> getFollowStatus(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam List<Long> userIds) {
+        return ResponseEntity.ok(ApiResponse.success(followService.getFollowStatus(principal.getUserId(), userIds)));
+    }
+    /**批量关注*/
+    @PostMapping("/follow/batch")
+    public ResponseEntity<ApiResponse<BatchFollowResponse>> followUsers(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @Valid @RequestBody BatchFollowRequest request) {
+        List<Long> followed = followService.followUsers(principal.getUserId(), request.getUserIds());
+        return ResponseEntity.ok(ApiResponse.success(BatchFollowResponse.builder()
+                .count(followed.size())
+                .userIds(followed)
+                .build()));
+    }
+    /**批量取消关注*/
+    @DeleteMapping("/unfollow/batch")
+    public ResponseEntity<ApiResponse<BatchFollowResponse>> unfollowUsers(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @Valid @RequestBody BatchFollowRequest request) {
+        List<Long> unfollowed = followService.unfollowUsers(principal.getUserId(), request.getUserIds());
+        return ResponseEntity.ok(ApiResponse.success(BatchFollowResponse.builder()
+                .count(unfollowed.size())
+                .userIds(unfollowed)
+                .build()));
+    }
 }
\ No newline at end of file
@@ -4,23 +4,32 @@ import com.demo.dto.request.LoginRequest;
 import com.demo.dto.request.RegisterRequest;
 import com.demo.dto.request.UpdateUserRequest;
 import com.demo.dto.response.ApiResponse;
+import com.demo.dto.response.ArticleListResponse;
 import com.demo.dto.response.LoginResponse;
 import com.demo.dto.response.MessageResponse;
 import com.demo.dto.response.RegisterResponse;
 import com.demo.dto.response.UserProfileResponse;
-import com.demo.security.JwtTokenProvider;
+import com.demo.security.AuthenticatedUser;
+import com.demo.service.ArticleExportService;
+import com.demo.service.ArticleService;
 import com.demo.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
 @RestController
 @RequestMapping("/api/user")
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final ArticleService articleService;
+    private final ArticleExportService articleExportService;
     /*** 用户注册*/
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<RegisterResponse>> register(@Valid @RequestBody RegisterRequest request) {
@@ -63,11 +72,33 @@ public class UserController {
     public ResponseEntity<ApiResponse<UserProfileResponse>> updateUserProfile(
             @PathVariable Long userId,
             @Valid @RequestBody UpdateUserRequest request,
-            @RequestHeader("Authorization") String token) {
-        String username = jwtTokenProvider.getUsernameFromToken(token.replace("Bearer ", ""));
-        Long currentUserId = userService.getUserIdByUsername(username);
-        UserProfileResponse response = userService.updateUserProfile(userId, request, currentUserId);
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        UserProfileResponse response = userService.updateUserProfile(userId, request, principal.getUserId());
         ApiResponse<UserProfileResponse> apiResponse = ApiResponse.success(response, "用户资料更新成功");
         return ResponseEntity.ok(apiResponse);
     }
-}
\ No newline at end of file
+    /*** 获取作者的文章列表（游标分页，首页传空cursor或不传）*/
+    @GetMapping("/{userId}/articles")
+    public ResponseEntity<ApiResponse<ArticleListResponse>> getUserArticles(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer pageSize) {
+        ArticleListResponse response = articleService.getAuthorArticles(userId, cursor, pageSize);
+
+        ApiResponse<ArticleListResponse> apiResponse = ApiResponse.<ArticleListResponse>builder()
+                .errorCode(0)
+                .data(response)
+                .build();
+
+        return ResponseEntity.ok(apiResponse);
+    }
+    /*** 导出作者的全部文章（NDJSON，边查边写）*/
+    @GetMapping(value = "/{userId}/articles/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportArticles(@PathVariable Long userId, HttpServletResponse response) throws IOException {
+        articleExportService.checkAuthor(userId);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"articles-" + userId + ".ndjson\"");
+        articleExportService.exportByAuthor(userId, response.getOutputStream());
+    }
+}
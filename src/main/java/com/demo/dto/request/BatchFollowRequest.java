@@ -0,0 +1,29 @@
+package com.demo.dto.request;
+
+import com.demo.service.FollowService;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量关注/取消关注请求
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchFollowRequest {
+
+    @NotEmpty(message = "用户ID列表不能为空")
+    @Size(max = FollowService.MAX_BATCH_SIZE, message = "一次最多处理" + FollowService.MAX_BATCH_SIZE + "个用户")
+    @JsonProperty("userIds")
+    private List<@NotNull(message = "用户ID不能为空") @Positive(message = "用户ID必须为正整数") Long> userIds;
+}
@@ -0,0 +1,27 @@
+package com.demo.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量导入文章中的一行（NDJSON）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportArticleLine {
+
+    private String title;
+
+    private String content;
+
+    private String tags;
+
+    private String category;
+
+    /** 创建时间（秒级时间戳），为空时取导入时间 */
+    private Long createTime;
+}
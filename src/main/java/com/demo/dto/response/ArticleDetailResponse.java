@@ -12,7 +12,7 @@ import java.util.List;
  * 文章详情响应
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ArticleDetailResponse {
@@ -0,0 +1,44 @@
+package com.demo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 导出文章中的一行（NDJSON），字段与批量导入格式一致，可直接重新导入
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleExportItem {
+
+    @JsonProperty("articleId")
+    private Long articleId;
+
+    @JsonProperty("title")
+    private String title;
+
+    @JsonProperty("content")
+    private String content;
+
+    @JsonProperty("summary")
+    private String summary;
+
+    @JsonProperty("tags")  // 逗号分隔
+    private String tags;
+
+    @JsonProperty("category")
+    private String category;
+
+    @JsonProperty("viewCount")
+    private Long viewCount;
+
+    @JsonProperty("createTime")  // 秒级时间戳
+    private Long createTime;
+
+    @JsonProperty("updateTime")  // 秒级时间戳
+    private Long updateTime;
+}
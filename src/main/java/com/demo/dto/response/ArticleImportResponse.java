@@ -0,0 +1,37 @@
+package com.demo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量导入文章响应
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleImportResponse {
+
+    @JsonProperty("imported")  // 成功导入的文章数
+    private Long imported;
+
+    @JsonProperty("skipped")  // 格式错误或校验失败而跳过的行数
+    private Long skipped;
+
+    @JsonProperty("lines")  // 已读取的行数
+    private Long lines;
+
+    @JsonProperty("completed")  // 是否读完全部输入；为false时从 nextLine 行开始重新导入即可
+    private Boolean completed;
+
+    @JsonProperty("nextLine")  // 第一条未提交的行号（从1开始）
+    private Long nextLine;
+
+    @JsonProperty("errors")  // 前若干条跳过原因
+    private List<String> errors;
+}
@@ -1,5 +1,6 @@
 package com.demo.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,6 +16,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ArticleListResponse {
 
     @JsonProperty("total")
@@ -28,4 +30,7 @@ public class ArticleListResponse {
 
     @JsonProperty("list")
     private List<ArticleListItemResponse> list;
+
+    @JsonProperty("nextCursor")  // 下一页游标，没有更多数据时为空
+    private String nextCursor;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.demo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量关注/取消关注响应
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchFollowResponse {
+
+    @JsonProperty("count")  // 实际变更的关注关系数
+    private Integer count;
+
+    @JsonProperty("userIds")  // 实际关注/取消关注的用户ID
+    private List<Long> userIds;
+}
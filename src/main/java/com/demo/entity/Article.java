@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
  * 文章实体类
  */
 @Entity
-@Table(name = "article")
+@Table(name = "article", indexes = {
+        @Index(name = "idx_article_create_time_id", columnList = "create_time, article_id"),
+        @Index(name = "idx_article_author_create_time_id", columnList = "author_id, create_time, article_id"),
+        @Index(name = "idx_article_category_create_time_id", columnList = "category, create_time, article_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,38 @@
+package com.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章标签关系实体类
+ * 每个 (文章, 标签) 一行；冗余文章创建时间，按标签筛选时可直接走 (tag, create_time, article_id) 索引排序分页
+ */
+@Entity
+@Table(name = "article_tag",
+        uniqueConstraints = @UniqueConstraint(name = "uk_article_tag_article_id_tag", columnNames = {"article_id", "tag"}),
+        indexes = @Index(name = "idx_article_tag_tag_create_time_id", columnList = "tag, create_time, article_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "article_id", nullable = false)
+    private Long articleId;
+
+    @Column(name = "tag", nullable = false, length = 50)
+    private String tag;
+
+    @Column(name = "create_time", nullable = false)
+    private LocalDateTime createTime;
+}
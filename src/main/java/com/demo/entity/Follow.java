@@ -7,7 +7,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 @Entity
 @Table(name = "follow",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"follower_id", "followed_user_id"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"follower_id", "followed_user_id"}),
+        indexes = @Index(name = "idx_follow_followed_user_id", columnList = "followed_user_id"))
 @Data
 @Builder
 @NoArgsConstructor
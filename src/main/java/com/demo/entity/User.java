@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -42,6 +43,22 @@ public class User {
     @Column(name = "last_login_time")
     private LocalDateTime lastLoginTime;
 
+    /**
+     * 粉丝数（冗余计数，只通过 UserRepository 的原子更新语句修改）
+     */
+    @Builder.Default
+    @Column(name = "followers_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer followersCount = 0;
+
+    /**
+     * 关注数（冗余计数，只通过 UserRepository 的原子更新语句修改）
+     */
+    @Builder.Default
+    @Column(name = "following_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer followingCount = 0;
+
     /**
      * 更新最后登录时间
      */
@@ -12,12 +12,18 @@ public enum ErrorCode {
     SUCCESS(0, "成功"),
     INTERNAL_SERVER_ERROR(1000, "服务器内部错误"),
     MISSING_REQUIRED_FIELDS(1001, "缺少必填字段"),
+    SERVICE_BUSY(1002, "服务繁忙，请稍后重试"),
+    TOO_MANY_REQUESTS(1003, "请求过于频繁，请稍后重试"),
 
     // 文章相关错误 (2xxx)
     ARTICLE_TITLE_CONTENT_EMPTY(2001, "标题或内容不能为空"),
+    ARTICLE_TAG_INVALID(2002, "单个标签不能超过50个字符，全部标签合计不能超过255个字符"),
+    ARTICLE_FIELD_TOO_LONG(2003, "标题不能超过255个字符，分类不能超过50个字符"),
 
     // 文章列表错误 (3xxx)
     ARTICLE_LIST_ERROR(3001, "获取列表失败，请稍后再试"),
+    INVALID_CURSOR(3002, "分页游标无效"),
+    SEARCH_QUERY_EMPTY(3003, "搜索关键词不能为空"),
 
     // 文章详情/修改/删除错误 (4xxx)
     ARTICLE_NOT_FOUND(4004, "文章不存在或已被删除"),
@@ -36,7 +42,8 @@ public enum ErrorCode {
     // 关注相关错误 (7xxx)
     ALREADY_FOLLOWED(7001, "已经关注过该用户"),
     NOT_FOLLOWED(7002, "未关注该用户"),
-    CANNOT_FOLLOW_SELF(7003, "不能关注自己");
+    CANNOT_FOLLOW_SELF(7003, "不能关注自己"),
+    FOLLOW_BATCH_TOO_LARGE(7004, "一次最多查询或处理500个用户");
 
     private final int code;
     private final String message;
@@ -87,8 +87,8 @@ public class GlobalExceptionHandler {
     private HttpStatus getHttpStatusFromErrorCode(ErrorCode errorCode) {
         return switch (errorCode) {
             // 400 Bad Request
-            case ARTICLE_TITLE_CONTENT_EMPTY, MISSING_REQUIRED_FIELDS,
-                 ALREADY_FOLLOWED, NOT_FOLLOWED, CANNOT_FOLLOW_SELF -> HttpStatus.BAD_REQUEST;
+            case ARTICLE_TITLE_CONTENT_EMPTY, ARTICLE_TAG_INVALID, ARTICLE_FIELD_TOO_LONG, MISSING_REQUIRED_FIELDS,
+                 INVALID_CURSOR, SEARCH_QUERY_EMPTY, ALREADY_FOLLOWED, NOT_FOLLOWED, CANNOT_FOLLOW_SELF, FOLLOW_BATCH_TOO_LARGE -> HttpStatus.BAD_REQUEST;
 
             // 401 Unauthorized
             case UNAUTHORIZED, INVALID_CREDENTIALS, INVALID_TOKEN -> HttpStatus.UNAUTHORIZED;
@@ -102,6 +102,12 @@ public class GlobalExceptionHandler {
             // 409 Conflict
             case USERNAME_ALREADY_EXISTS -> HttpStatus.CONFLICT;
 
+            // 429 Too Many Requests
+            case TOO_MANY_REQUESTS -> HttpStatus.TOO_MANY_REQUESTS;
+
+            // 503 Service Unavailable
+            case SERVICE_BUSY -> HttpStatus.SERVICE_UNAVAILABLE;
+
             // 500 Internal Server Error
             case ARTICLE_LIST_ERROR, INTERNAL_SERVER_ERROR -> HttpStatus.INTERNAL_SERVER_ERROR;
 
@@ -0,0 +1,15 @@
+package com.demo.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章列表行投影
+ * 只包含列表展示所需的列，不加载正文（TEXT）
+ */
+public record ArticleListRow(Long articleId,
+                             String title,
+                             String summary,
+                             String authorName,
+                             LocalDateTime createTime,
+                             Integer viewCount) {
+}
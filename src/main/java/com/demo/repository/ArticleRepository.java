@@ -1,14 +1,23 @@
 package com.demo.repository;
 
 import com.demo.entity.Article;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * 文章仓储接口
  */
@@ -16,19 +25,192 @@ import org.springframework.stereotype.Repository;
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
     /**
-     * 分页查询所有文章，按创建时间降序
+     * 列表查询的选择列：只取列表展示字段，不加载正文
+     */
+    String LIST_ROW = "SELECT new com.demo.repository.ArticleListRow("
+            + "a.articleId, a.title, a.summary, a.authorName, a.createTime, a.viewCount) FROM Article a ";
+
+    /**
+     * 分页查询文章列表行，按创建时间降序（返回Slice，不执行COUNT查询）
+     */
+    @Query(LIST_ROW + "ORDER BY a.createTime DESC, a.articleId DESC")
+    Slice<ArticleListRow> findListRows(Pageable pageable);
+
+    /**
+     * 游标分页：第一页，按 (创建时间, 文章ID) 降序
+     */
+    @Query(LIST_ROW + "ORDER BY a.createTime DESC, a.articleId DESC")
+    List<ArticleListRow> findListRows(Limit limit);
+
+    /**
+     * 游标分页：从游标位置之后继续查询，走 (create_time, article_id) 索引，不使用OFFSET
+     */
+    @Query(LIST_ROW + "WHERE a.createTime < :createTime "
+            + "OR (a.createTime = :createTime AND a.articleId < :articleId) "
+            + "ORDER BY a.createTime DESC, a.articleId DESC")
+    List<ArticleListRow> findListRowsAfter(@Param("createTime") LocalDateTime createTime,
+                                           @Param("articleId") Long articleId,
+                                           Limit limit);
+
+    /**
+     * 按标签（可同时按分类）筛选的列表查询：从 article_tag 出发，走 (tag, create_time, article_id) 索引
+     */
+    String TAG_ROW = "SELECT new com.demo.repository.ArticleListRow("
+            + "a.articleId, a.title, a.summary, a.authorName, a.createTime, a.viewCount) "
+            + "FROM ArticleTag t JOIN Article a ON a.articleId = t.articleId "
+            + "WHERE t.tag = :tag AND (:category IS NULL OR a.category = :category) ";
+
+    /**
+     * 按标签筛选分页查询
+     */
+    @Query(TAG_ROW + "ORDER BY t.createTime DESC, t.articleId DESC")
+    Slice<ArticleListRow> findListRowsByTag(@Param("tag") String tag,
+                                            @Param("category") String category,
+                                            Pageable pageable);
+
+    /**
+     * 按标签筛选的游标分页：第一页
+     */
+    @Query(TAG_ROW + "ORDER BY t.createTime DESC, t.articleId DESC")
+    List<ArticleListRow> findListRowsByTag(@Param("tag") String tag,
+                                           @Param("category") String category,
+                                           Limit limit);
+
+    /**
+     * 按标签筛选的游标分页：从游标位置之后继续查询
+     */
+    @Query(TAG_ROW + "AND (t.createTime < :createTime "
+            + "OR (t.createTime = :createTime AND t.articleId < :articleId)) "
+            + "ORDER BY t.createTime DESC, t.articleId DESC")
+    List<ArticleListRow> findListRowsByTagAfter(@Param("tag") String tag,
+                                                @Param("category") String category,
+                                                @Param("createTime") LocalDateTime createTime,
+                                                @Param("articleId") Long articleId,
+                                                Limit limit);
+
+    /**
+     * 统计按标签（可同时按分类）筛选的文章数
+     */
+    @Query("SELECT COUNT(t) FROM ArticleTag t JOIN Article a ON a.articleId = t.articleId "
+            + "WHERE t.tag = :tag AND (:category IS NULL OR a.category = :category)")
+    long countByTag(@Param("tag") String tag, @Param("category") String category);
+
+    /**
+     * 按分类筛选分页查询，走 (category, create_time, article_id) 索引
+     */
+    @Query(LIST_ROW + "WHERE a.category = :category ORDER BY a.createTime DESC, a.articleId DESC")
+    Slice<ArticleListRow> findListRowsByCategory(@Param("category") String category, Pageable pageable);
+
+    /**
+     * 按分类筛选的游标分页：第一页
+     */
+    @Query(LIST_ROW + "WHERE a.category = :category ORDER BY a.createTime DESC, a.articleId DESC")
+    List<ArticleListRow> findListRowsByCategory(@Param("category") String category, Limit limit);
+
+    /**
+     * 按分类筛选的游标分页：从游标位置之后继续查询
      */
-    Page<Article> findAllByOrderByCreateTimeDesc(Pageable pageable);
+    @Query(LIST_ROW + "WHERE a.category = :category AND (a.createTime < :createTime "
+            + "OR (a.createTime = :createTime AND a.articleId < :articleId)) "
+            + "ORDER BY a.createTime DESC, a.articleId DESC")
+    List<ArticleListRow> findListRowsByCategoryAfter(@Param("category") String category,
+                                                     @Param("createTime") LocalDateTime createTime,
+                                                     @Param("articleId") Long articleId,
+                                                     Limit limit);
 
     /**
-     * 根据作者ID分页查询文章
+     * 统计某分类下的文章数
      */
-    Page<Article> findByAuthorIdOrderByCreateTimeDesc(Long authorId, Pageable pageable);
+    long countByCategory(String category);
 
     /**
-     * 增加文章阅读量
+     * 按ID批量查询文章列表行（顺序不保证）
      */
-    @Modifying
-    @Query("UPDATE Article a SET a.viewCount = a.viewCount + 1 WHERE a.articleId = :articleId")
-    void incrementViewCount(@Param("articleId") Long articleId);
-}
\ No newline at end of file
+    @Query(LIST_ROW + "WHERE a.articleId IN :articleIds")
+    List<ArticleListRow> findListRowsByIds(@Param("articleIds") Collection<Long> articleIds);
+
+    /**
+     * 按文章ID升序分批查询，用于全量构建检索索引
+     */
+    @Query("SELECT a FROM Article a WHERE a.articleId > :afterId ORDER BY a.articleId")
+    List<Article> findBatchAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * 作者文章的游标分页：第一页
+     */
+    @Query(LIST_ROW + "WHERE a.authorId = :authorId ORDER BY a.createTime DESC, a.articleId DESC")
+    List<ArticleListRow> findListRowsByAuthor(@Param("authorId") Long authorId, Limit limit);
+
+    /**
+     * 作者文章的游标分页：从游标位置之后继续查询
+     */
+    @Query(LIST_ROW + "WHERE a.authorId = :authorId AND (a.createTime < :createTime "
+            + "OR (a.createTime = :createTime AND a.articleId < :articleId)) "
+            + "ORDER BY a.createTime DESC, a.articleId DESC")
+    List<ArticleListRow> findListRowsByAuthorAfter(@Param("authorId") Long authorId,
+                                                   @Param("createTime") LocalDateTime createTime,
+                                                   @Param("articleId") Long articleId,
+                                                   Limit limit);
+
+    /**
+     * 统计作者的文章数
+     */
+    long countByAuthorId(Long authorId);
+
+    /**
+     * 以只读游标流式读取作者的全部文章，按创建时间倒序，用于导出
+     * 必须在事务中消费并关闭。fetchSize 为 Integer.MIN_VALUE 时 MySQL Connector/J 逐行流式读取结果，
+     * 不缓存整个结果集，也不需要在URL上开启 useCursorFetch（该参数会让所有语句改用服务端预处理）；
+     * 流未关闭前同一连接上不能执行其他语句
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Article a WHERE a.authorId = :authorId ORDER BY a.createTime DESC, a.articleId DESC")
+    Stream<Article> streamByAuthorId(@Param("authorId") Long authorId);
+
+    /**
+     * 时间线：查询一组作者的最新文章，只取ID和创建时间
+     */
+    @Query("SELECT a.articleId AS articleId, a.createTime AS createTime FROM Article a "
+            + "WHERE a.authorId IN :authorIds ORDER BY a.createTime DESC, a.articleId DESC")
+    List<TimelineEntry> findTimelineEntries(@Param("authorIds") Collection<Long> authorIds, Limit limit);
+
+    /**
+     * 时间线：从游标位置之后继续查询一组作者的文章
+     */
+    @Query("SELECT a.articleId AS articleId, a.createTime AS createTime FROM Article a "
+            + "WHERE a.authorId IN :authorIds AND (a.createTime < :createTime "
+            + "OR (a.createTime = :createTime AND a.articleId < :articleId)) "
+            + "ORDER BY a.createTime DESC, a.articleId DESC")
+    List<TimelineEntry> findTimelineEntriesAfter(@Param("authorIds") Collection<Long> authorIds,
+                                                 @Param("createTime") LocalDateTime createTime,
+                                                 @Param("articleId") Long articleId,
+                                                 Limit limit);
+
+    /**
+     * 只查询文章的创建、修改时间，用于条件请求校验，不加载正文
+     */
+    @Query("SELECT a.createTime AS createTime, a.updateTime AS updateTime FROM Article a "
+            + "WHERE a.articleId = :articleId")
+    Optional<ArticleVersion> findVersionById(@Param("articleId") Long articleId);
+
+    /**
+     * 时间线条目投影
+     */
+    interface TimelineEntry {
+        Long getArticleId();
+
+        LocalDateTime getCreateTime();
+    }
+
+    /**
+     * 文章版本投影
+     */
+    interface ArticleVersion {
+        LocalDateTime getCreateTime();
+
+        LocalDateTime getUpdateTime();
+    }
+}
@@ -0,0 +1,30 @@
+package com.demo.repository;
+
+import com.demo.entity.ArticleTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 文章标签Repository接口
+ */
+@Repository
+public interface ArticleTagRepository extends JpaRepository<ArticleTag, Long> {
+
+    /**
+     * 删除文章的全部标签
+     */
+    @Modifying
+    @Query("DELETE FROM ArticleTag t WHERE t.articleId = :articleId")
+    int deleteByArticleId(@Param("articleId") Long articleId);
+
+    /**
+     * 文章的标签，按写入顺序
+     */
+    @Query("SELECT t.tag FROM ArticleTag t WHERE t.articleId = :articleId ORDER BY t.id")
+    List<String> findTagsByArticleId(@Param("articleId") Long articleId);
+}
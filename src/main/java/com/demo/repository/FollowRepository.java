@@ -2,8 +2,13 @@ package com.demo.repository;
 
 import com.demo.entity.Follow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,7 +38,29 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     Long countByFollowerId(Long followerId);
 
     /**
-     * 删除关注关系
+     * 查询某用户的全部粉丝ID
      */
-    void deleteByFollowerIdAndFollowedUserId(Long followerId, Long followedUserId);
+    @Query("SELECT f.followerId FROM Follow f WHERE f.followedUserId = :userId")
+    List<Long> findFollowerIds(@Param("userId") Long userId);
+
+    /**
+     * 查询某用户关注的全部用户ID
+     */
+    @Query("SELECT f.followedUserId FROM Follow f WHERE f.followerId = :userId")
+    List<Long> findFollowedUserIds(@Param("userId") Long userId);
+
+    /**
+     * 在给定用户中查询已被关注的用户ID（一条IN查询）
+     */
+    @Query("SELECT f.followedUserId FROM Follow f WHERE f.followerId = :followerId AND f.followedUserId IN :userIds")
+    List<Long> findFollowedUserIdsIn(@Param("followerId") Long followerId,
+                                     @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 删除关注关系，返回删除的行数
+     */
+    @Modifying
+    @Query("DELETE FROM Follow f WHERE f.followerId = :followerId AND f.followedUserId = :followedUserId")
+    int deleteByFollowerIdAndFollowedUserId(@Param("followerId") Long followerId,
+                                            @Param("followedUserId") Long followedUserId);
 }
\ No newline at end of file
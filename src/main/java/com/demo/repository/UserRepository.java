@@ -2,8 +2,13 @@ package com.demo.repository;
 
 import com.demo.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -21,4 +26,44 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * 检查用户名是否存在
      */
     boolean existsByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * 原子增减粉丝数，不低于0（回填前的旧用户计数为0，取消关注时不能减成负数）
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.followersCount = greatest(u.followersCount + :delta, 0) WHERE u.userId = :userId")
+    int addFollowersCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    /**
+     * 原子增减关注数，不低于0
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.followingCount = greatest(u.followingCount + :delta, 0) WHERE u.userId = :userId")
+    int addFollowingCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    /**
+     * 批量增减粉丝数，不低于0
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.followersCount = greatest(u.followersCount + :delta, 0) WHERE u.userId IN :userIds")
+    int addFollowersCountIn(@Param("userIds") Collection<Long> userIds, @Param("delta") int delta);
+
+    /**
+     * 从给定用户中筛选存在的用户ID
+     */
+    @Query("SELECT u.userId FROM User u WHERE u.userId IN :userIds")
+    List<Long> findExistingIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 从给定用户中筛选粉丝数等于给定值的用户ID
+     */
+    @Query("SELECT u.userId FROM User u WHERE u.userId IN :userIds AND u.followersCount = :count")
+    List<Long> findIdsByFollowersCount(@Param("userIds") Collection<Long> userIds, @Param("count") int count);
+
+    /**
+     * 从给定用户中筛选粉丝数超过阈值的用户ID
+     */
+    @Query("SELECT u.userId FROM User u WHERE u.userId IN :userIds AND u.followersCount > :threshold")
+    List<Long> findIdsByFollowersCountGreaterThan(@Param("userIds") Collection<Long> userIds,
+                                                  @Param("threshold") int threshold);
+}
@@ -0,0 +1,22 @@
+package com.demo.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 已认证用户
+ * 由 JwtAuthenticationFilter 在验证Token后放入安全上下文，控制器通过 @AuthenticationPrincipal 获取，
+ * 无需再次解析Token或查询用户表。
+ */
+@Getter
+@RequiredArgsConstructor
+public class AuthenticatedUser {
+
+    private final Long userId;
+
+    private final String username;
+
+    /** 已验证的Token声明 */
+    private final Claims claims;
+}
@@ -1,57 +1,132 @@
 package com.demo.security;
 
+import com.demo.util.LocalCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT Token生成和验证工具类
+ * 签名密钥和解析器只在启动时构建一次；验证通过的Token按其SHA-256摘要缓存到过期为止，
+ * 同一客户端短时间内的连续请求无需重复验签。
+ * 验证耗时记录在 auth.jwt.verify，按结果区分：cached（命中缓存）、valid（验签通过）、invalid（验签失败）。
  */
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    /** 用户ID声明 */
+    public static final String CLAIM_USER_ID = "uid";
 
-    @Value("${jwt.expiration}")
-    private Long jwtExpirationInMs;
+    private final Long jwtExpirationInMs;
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final LocalCache<String, Claims> verifiedTokens;
+    private final Timer cachedTimer;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+
+    public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.expiration}") Long jwtExpirationInMs,
+                            @Value("${jwt.verified-cache-size:10000}") int verifiedCacheSize,
+                            MeterRegistry meterRegistry) {
+        this.jwtExpirationInMs = jwtExpirationInMs;
+        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = new LocalCache<>(verifiedCacheSize, null);
+        this.cachedTimer = verifyTimer(meterRegistry, "cached");
+        this.validTimer = verifyTimer(meterRegistry, "valid");
+        this.invalidTimer = verifyTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("auth.jwt.verify")
+                .description("JWT验证耗时")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
     /**
      * 生成JWT Token
      */
     public String generateToken(String username) {
+        return generateToken(null, username);
+    }
+
+    /**
+     * 生成携带用户ID声明的JWT Token
+     */
+    public String generateToken(Long userId, String username) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        JwtBuilder builder = Jwts.builder()
+                .subject(username)
+                .issuedAt(now)
+                .expiration(expiryDate);
+        if (userId != null) {
+            builder.claim(CLAIM_USER_ID, userId);
+        }
+        return builder.signWith(key, Jwts.SIG.HS512).compact();
+    }
 
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS512)
-                .compact();
+    /**
+     * 从已验证的声明中获取用户ID，没有该声明时返回null
+     */
+    public Long getUserId(Claims claims) {
+        return claims.get(CLAIM_USER_ID, Long.class);
     }
 
     /**
-     * 从Token中获取用户名
+     * 验证Token并返回其声明，Token无效或已过期时返回null
      */
-    public String getUsernameFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public Claims parseVerifiedClaims(String token) {
+        long start = System.nanoTime();
+        String cacheKey = digest(token);
+        Claims claims = verifiedTokens.get(cacheKey);
+        if (claims != null) {
+            cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        }
 
-        Claims claims = Jwts.parser()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
+        }
+        validTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
+        // 缓存到Token过期时刻
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            verifiedTokens.put(cacheKey, claims, expiration.getTime());
+        }
+        return claims;
+    }
+
+    /**
+     * 从Token中获取用户名
+     */
+    public String getUsernameFromToken(String token) {
+        Claims claims = parseVerifiedClaims(token);
+        if (claims == null) {
+            throw new JwtException("无效的token");
+        }
         return claims.getSubject();
     }
 
@@ -59,18 +134,7 @@ public class JwtTokenProvider {
      * 验证Token
      */
     public boolean validateToken(String token) {
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
-            Jwts.parser()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return parseVerifiedClaims(token) != null;
     }
 
     /**
@@ -79,4 +143,16 @@ public class JwtTokenProvider {
     public Long getJwtExpirationInMs() {
         return jwtExpirationInMs;
     }
-}
\ No newline at end of file
+
+    /**
+     * 缓存键：Token的SHA-256摘要，避免在内存中保留原始Token
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
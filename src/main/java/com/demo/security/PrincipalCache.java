@@ -0,0 +1,49 @@
+package com.demo.security;
+
+import com.demo.entity.User;
+import com.demo.repository.UserRepository;
+import com.demo.util.LocalCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 认证用户缓存
+ * 缓存 userId -> 当前用户名，认证过滤器据此确认Token对应的用户仍然存在且未改名，
+ * 命中时无需查询数据库。用户资料更新时需调用 invalidate。
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final LocalCache<Long, String> usernames;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.usernames = new LocalCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * 获取用户当前的用户名，用户不存在时返回null
+     */
+    public String getUsername(Long userId) {
+        return usernames.get(userId, id -> userRepository.findById(id).map(User::getUsername).orElse(null));
+    }
+
+    /**
+     * 根据用户名查找用户ID（用于不含userId声明的旧Token），用户不存在时返回null
+     */
+    public Long findUserId(String username) {
+        return userRepository.findByUsername(username).map(User::getUserId).orElse(null);
+    }
+
+    /**
+     * 用户资料变更后移除缓存
+     */
+    public void invalidate(Long userId) {
+        usernames.invalidate(userId);
+    }
+}
@@ -0,0 +1,138 @@
+package com.demo.security;
+
+import com.demo.dto.response.ApiResponse;
+import com.demo.exception.ErrorCode;
+import com.demo.util.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按客户端限流
+ * 在 JwtAuthenticationFilter 之后执行：已认证请求按用户ID限流，匿名请求按客户端IP限流。
+ * 规则按配置顺序匹配第一条，每条规则独立计数；超出时直接返回429和 Retry-After，不进入业务层和数据库。
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<Rule> rules;
+    private final byte[] rejectedBody;
+
+    public RateLimitFilter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.rules:}") List<String> rules,
+                           JsonMapper jsonMapper,
+                           MeterRegistry meterRegistry) {
+        this.rules = enabled ? parseRules(rules, meterRegistry) : List.of();
+        this.rejectedBody = jsonMapper.writeValueAsBytes(ApiResponse.<Void>builder()
+                .errorCode(ErrorCode.TOO_MANY_REQUESTS.getCode())
+                .message(ErrorCode.TOO_MANY_REQUESTS.getMessage())
+                .build());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Rule rule = match(request);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rule.limiter().tryAcquire(clientKey(request), System.nanoTime());
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rule.rejected().increment();
+        long retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1;
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(rejectedBody.length);
+        response.getOutputStream().write(rejectedBody);
+    }
+
+    /**
+     * 定期清除已回满的桶，空闲客户端不占用内存
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        rules.forEach(rule -> rule.limiter().evictIdle(now));
+    }
+
+    private Rule match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Rule rule : rules) {
+            if ((rule.method() == null || rule.method().equals(request.getMethod())) && rule.pattern().matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal
+                ? "u:" + principal.getUserId()
+                : "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * 解析规则，格式：方法（*为任意） 路径模式 次数/时间窗口，如 "POST /api/user/login 10/1m"
+     */
+    private static List<Rule> parseRules(List<String> specs, MeterRegistry meterRegistry) {
+        List<Rule> rules = new ArrayList<>();
+        for (String spec : specs) {
+            if (spec.isBlank()) {
+                continue;
+            }
+            String[] parts = spec.trim().split("\\s+");
+            String[] limit = parts.length == 3 ? parts[2].split("/") : new String[0];
+            if (limit.length != 2) {
+                throw new IllegalArgumentException("限流规则格式错误：" + spec);
+            }
+            String method = parts[0].equals("*") ? null : parts[0].toUpperCase();
+            RateLimiter limiter = new RateLimiter(Integer.parseInt(limit[0]),
+                    DurationStyle.detectAndParse(limit[1]).toNanos());
+            Counter rejected = Counter.builder("rate.limit.rejected")
+                    .description("被限流拒绝的请求数")
+                    .tag("rule", parts[0] + " " + parts[1])
+                    .register(meterRegistry);
+            rules.add(new Rule(method, PathPatternParser.defaultInstance.parse(parts[1]), limiter, rejected));
+        }
+        return List.copyOf(rules);
+    }
+
+    private record Rule(String method, PathPattern pattern, RateLimiter limiter, Counter rejected) {
+    }
+}
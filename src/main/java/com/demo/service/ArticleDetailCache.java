@@ -0,0 +1,82 @@
+package com.demo.service;
+
+import com.demo.dto.response.ArticleDetailResponse;
+import com.demo.util.LocalCache;
+import com.demo.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 文章详情缓存
+ * 以articleId为键缓存文章详情快照，命中时不访问数据库；文章更新、删除时失效。
+ * 阅读量不放入快照，由 ArticleViewCounter 实时叠加。
+ */
+@Component
+public class ArticleDetailCache {
+
+    private final LocalCache<Long, Entry> cache;
+
+    public ArticleDetailCache(@Value("${article.detail-cache.max-size:1000}") int maxSize,
+                              @Value("${article.detail-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = new LocalCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * 获取文章详情快照，未命中时通过loader加载
+     */
+    public Entry get(Long articleId, Function<Long, Entry> loader) {
+        return cache.get(articleId, loader);
+    }
+
+    /**
+     * 只读取已缓存的快照，不触发加载；未命中返回null
+     */
+    public Entry peek(Long articleId) {
+        return cache.get(articleId);
+    }
+
+    /**
+     * 把阅读计数并入已缓存快照的阅读量基数，ArticleViewCounter 丢弃该文章的计数前调用
+     */
+    public void foldViews(Long articleId, long views) {
+        cache.computeIfPresent(articleId,
+                entry -> new Entry(entry.detail(), entry.viewBase() + views, entry.lastModified()));
+    }
+
+    /**
+     * 使缓存失效：立即移除，并在当前事务提交后再次移除；两次失效都会作废进行中的加载，提交前读到的旧数据不会写回缓存
+     */
+    public void invalidate(Long articleId) {
+        cache.invalidate(articleId);
+        TransactionUtil.afterCommit(() -> cache.invalidate(articleId));
+    }
+
+    public long hitCount() {
+        return cache.hitCount();
+    }
+
+    public long missCount() {
+        return cache.missCount();
+    }
+
+    public long evictionCount() {
+        return cache.evictionCount();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param detail       文章详情快照（共享，只读）
+     * @param viewBase     阅读量基数，实时阅读量 = viewBase + ArticleViewCounter.recorded(articleId)
+     * @param lastModified 文章最后修改时间（毫秒时间戳，未知时为-1），用于条件请求
+     */
+    public record Entry(ArticleDetailResponse detail, long viewBase, long lastModified) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.demo.service;
+
+import com.demo.dto.response.ArticleExportItem;
+import com.demo.entity.Article;
+import com.demo.exception.BusinessException;
+import com.demo.exception.ErrorCode;
+import com.demo.repository.ArticleRepository;
+import com.demo.repository.UserRepository;
+import com.demo.util.DateUtil;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 文章导出服务
+ * 通过只读游标逐行读取作者的文章并写成NDJSON，每写出一篇就从持久化上下文中分离，
+ * 堆内存占用与文章数量无关。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleExportService {
+
+    private final ArticleRepository articleRepository;
+    private final UserRepository userRepository;
+    private final ArticleViewCounter articleViewCounter;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * 校验作者存在；在开始写响应之前调用，作者不存在时仍能返回正常的错误响应
+     */
+    public void checkAuthor(Long authorId) {
+        if (!userRepository.existsById(authorId)) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
+    }
+
+    /**
+     * 将作者的全部文章按创建时间倒序写入输出流，返回导出的文章数
+     */
+    @Transactional(readOnly = true)
+    public long exportByAuthor(Long authorId, OutputStream output) {
+        long count = 0;
+        OutputStream out = new BufferedOutputStream(output);
+        try (Stream<Article> articles = articleRepository.streamByAuthorId(authorId)) {
+            Iterator<Article> iterator = articles.iterator();
+            while (iterator.hasNext()) {
+                Article article = iterator.next();
+                out.write(jsonMapper.writeValueAsBytes(toExportItem(article)));
+                out.write('\n');
+                entityManager.detach(article);
+                count++;
+            }
+            out.flush();
+        } catch (IOException e) {
+            // 多为客户端断开连接
+            throw new UncheckedIOException(e);
+        }
+        log.info("导出作者 {} 的文章 {} 篇", authorId, count);
+        return count;
+    }
+
+    private ArticleExportItem toExportItem(Article article) {
+        long viewCount = (article.getViewCount() == null ? 0 : article.getViewCount())
+                + articleViewCounter.unflushed(article.getArticleId());
+        return ArticleExportItem.builder()
+                .articleId(article.getArticleId())
+                .title(article.getTitle())
+                .content(article.getContent())
+                .summary(article.getSummary())
+                .tags(article.getTags())
+                .category(article.getCategory())
+                .viewCount(viewCount)
+                .createTime(DateUtil.toEpochSecond(article.getCreateTime()))
+                .updateTime(DateUtil.toEpochSecond(article.getUpdateTime()))
+                .build();
+    }
+}
@@ -0,0 +1,339 @@
+package com.demo.service;
+
+import com.demo.dto.request.ImportArticleLine;
+import com.demo.dto.response.ArticleImportResponse;
+import com.demo.entity.Article;
+import com.demo.entity.User;
+import com.demo.exception.BusinessException;
+import com.demo.exception.ErrorCode;
+import com.demo.repository.UserRepository;
+import com.demo.util.ArticleTags;
+import com.demo.util.DateUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章批量导入服务
+ * 逐行读取NDJSON，每 batch-size 篇在一个独立事务中用JDBC批量插入；文章ID仍由数据库自增生成，
+ * 通过批量语句的 getGeneratedKeys 一次取回，再批量写入标签行。内存占用只与批大小和单行长度上限有关，与输入大小无关。
+ */
+@Slf4j
+@Service
+public class ArticleImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final int PROGRESS_LOG_INTERVAL = 10000;
+    private static final int TITLE_MAX_LENGTH = 255;
+    private static final int CATEGORY_MAX_LENGTH = 50;
+
+    private static final String INSERT_ARTICLE_SQL = "INSERT INTO article "
+            + "(title, content, summary, author_id, author_name, view_count, create_time, tags, category) "
+            + "VALUES (?, ?, ?, ?, ?, 0, ?, ?, ?)";
+    private static final String INSERT_TAG_SQL =
+            "INSERT INTO article_tag (article_id, tag, create_time) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final UserRepository userRepository;
+    private final ArticleTotalCounter articleTotalCounter;
+    private final FeedService feedService;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final AuthorArticlesCache authorArticlesCache;
+    private final ArticleListVersion articleListVersion;
+    private final int batchSize;
+    private final int maxLineLength;
+
+    public ArticleImportService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                JsonMapper jsonMapper,
+                                UserRepository userRepository,
+                                ArticleTotalCounter articleTotalCounter,
+                                FeedService feedService,
+                                ArticleSearchIndex articleSearchIndex,
+                                AuthorArticlesCache authorArticlesCache,
+                                ArticleListVersion articleListVersion,
+                                @Value("${article.import.batch-size:500}") int batchSize,
+                                @Value("${article.import.max-line-length:262144}") int maxLineLength) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.jsonMapper = jsonMapper;
+        this.userRepository = userRepository;
+        this.articleTotalCounter = articleTotalCounter;
+        this.feedService = feedService;
+        this.articleSearchIndex = articleSearchIndex;
+        this.authorArticlesCache = authorArticlesCache;
+        this.articleListVersion = articleListVersion;
+        this.batchSize = batchSize;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * 导入文章，作者为当前用户
+     * 格式错误、校验失败或超过长度上限的行跳过并记录原因；某一批写库失败时停止导入并返回已提交的进度，
+     * 客户端从 nextLine 行重新提交即可继续。
+     */
+    public ArticleImportResponse importArticles(InputStream in, Long authorId) {
+        // 在写事务中查询作者，走主库：刚注册的作者可能尚未同步到副本
+        User author = transactionTemplate.execute(status -> userRepository.findById(authorId))
+                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        String authorName = author.getName() != null ? author.getName() : author.getUsername();
+
+        Progress progress = new Progress();
+        List<PendingArticle> batch = new ArrayList<>(batchSize);
+        try (Reader input = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            BoundedLineReader reader = new BoundedLineReader(input, maxLineLength);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                progress.lines++;
+                if (reader.isTooLong()) {
+                    progress.skip("单行超过" + maxLineLength + "个字符");
+                    continue;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(parse(line, progress.lines, author, authorName));
+                } catch (JacksonException | BusinessException e) {
+                    progress.skip(e instanceof JacksonException ? "JSON格式错误" : e.getMessage());
+                    continue;
+                }
+                if (batch.size() == batchSize && !flush(batch, author, progress)) {
+                    return progress.toResponse(false, batch.get(0).line());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (!batch.isEmpty() && !flush(batch, author, progress)) {
+            return progress.toResponse(false, batch.get(0).line());
+        }
+        log.info("文章导入完成：作者 {}，读取 {} 行，导入 {} 篇，跳过 {} 行",
+                authorId, progress.lines, progress.imported, progress.skipped);
+        return progress.toResponse(true, progress.lines + 1);
+    }
+
+    private PendingArticle parse(String line, long lineNumber, User author, String authorName) {
+        ImportArticleLine row = jsonMapper.readValue(line, ImportArticleLine.class);
+        if (row.getTitle() == null || row.getTitle().trim().isEmpty()
+                || row.getContent() == null || row.getContent().trim().isEmpty()) {
+            throw new BusinessException(ErrorCode.ARTICLE_TITLE_CONTENT_EMPTY);
+        }
+        String category = row.getCategory() == null || row.getCategory().isBlank() ? null : row.getCategory().trim();
+        if (row.getTitle().length() > TITLE_MAX_LENGTH
+                || (category != null && category.length() > CATEGORY_MAX_LENGTH)) {
+            throw new BusinessException(ErrorCode.ARTICLE_FIELD_TOO_LONG);
+        }
+        List<String> tags = ArticleTags.parse(row.getTags());
+
+        Article article = Article.builder()
+                .title(row.getTitle())
+                .content(row.getContent())
+                .authorId(author.getUserId())
+                .authorName(authorName)
+                .tags(ArticleTags.join(tags))
+                .category(category)
+                .viewCount(0)
+                .createTime(row.getCreateTime() != null
+                        ? DateUtil.fromEpochSecond(row.getCreateTime()) : LocalDateTime.now())
+                .build();
+        article.generateSummary();
+        return new PendingArticle(article, tags, lineNumber);
+    }
+
+    /**
+     * 在一个事务中写入一批文章，成功后清空批次；失败返回false，批次保留以便报告起始行号
+     */
+    private boolean flush(List<PendingArticle> batch, User author, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                insertArticles(batch);
+                insertTags(batch);
+                articleTotalCounter.addAfterCommit(batch.size());
+                feedService.invalidateFollowers(author);
+                authorArticlesCache.invalidate(author.getUserId());
+                articleListVersion.incrementAfterCommit();
+                batch.forEach(pending -> articleSearchIndex.indexAfterCommit(pending.article()));
+            });
+        } catch (DataAccessException e) {
+            log.warn("文章导入在第 {} 行所在批次写库失败，已导入 {} 篇", batch.get(0).line(), progress.imported, e);
+            return false;
+        }
+
+        long before = progress.imported;
+        progress.imported += batch.size();
+        if (before / PROGRESS_LOG_INTERVAL != progress.imported / PROGRESS_LOG_INTERVAL) {
+            log.info("文章导入进度：作者 {}，已读取 {} 行，已导入 {} 篇", author.getUserId(), progress.lines, progress.imported);
+        }
+        batch.clear();
+        return true;
+    }
+
+    private void insertArticles(List<PendingArticle> batch) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_ARTICLE_SQL, new String[]{"article_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Article article = batch.get(i).article();
+                        ps.setString(1, article.getTitle());
+                        ps.setString(2, article.getContent());
+                        ps.setString(3, article.getSummary());
+                        ps.setLong(4, article.getAuthorId());
+                        ps.setString(5, article.getAuthorName());
+                        ps.setTimestamp(6, Timestamp.valueOf(article.getCreateTime()));
+                        ps.setString(7, article.getTags());
+                        ps.setString(8, article.getCategory());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != batch.size()) {
+            throw new IllegalStateException("批量插入返回的主键数量不符：" + keys.size() + "/" + batch.size());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            // 各驱动返回的主键列名不同（MySQL为GENERATED_KEY），只取唯一的一列
+            Number id = (Number) keys.get(i).values().iterator().next();
+            batch.get(i).article().setArticleId(id.longValue());
+        }
+    }
+
+    private void insertTags(List<PendingArticle> batch) {
+        List<Object[]> rows = new ArrayList<>();
+        for (PendingArticle pending : batch) {
+            Timestamp createTime = Timestamp.valueOf(pending.article().getCreateTime());
+            for (String tag : pending.tags()) {
+                rows.add(new Object[]{pending.article().getArticleId(), tag, createTime});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TAG_SQL, rows);
+        }
+    }
+
+    /**
+     * 按行读取，行尾可以是 \n 或 \r\n；超过长度上限的行只读过、不缓存剩余内容
+     */
+    private static final class BoundedLineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean tooLong;
+
+        private BoundedLineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * 读取下一行，输入结束时返回null；超长的行返回截断的内容，isTooLong() 为true
+         */
+        private String readLine() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = Math.max(reader.read(buffer), 0);
+                    position = 0;
+                    if (limit == 0) {
+                        return read ? finish() : null;
+                    }
+                }
+                read = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                // 多保留一个字符容纳 \r
+                int length = Math.min(position - start, maxLength + 1 - line.length());
+                if (length < position - start) {
+                    tooLong = true;
+                }
+                line.append(buffer, start, Math.max(length, 0));
+                if (position < limit) {
+                    position++;
+                    return finish();
+                }
+            }
+        }
+
+        private boolean isTooLong() {
+            return tooLong;
+        }
+
+        private String finish() {
+            if (!tooLong && !line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            if (line.length() > maxLength) {
+                tooLong = true;
+            }
+            return line.toString();
+        }
+    }
+
+    private record PendingArticle(Article article, List<String> tags, long line) {
+    }
+
+    private static final class Progress {
+        private long lines;
+        private long imported;
+        private long skipped;
+        private final List<String> errors = new ArrayList<>();
+
+        private void skip(String reason) {
+            skipped++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("第" + lines + "行：" + reason);
+            }
+        }
+
+        private ArticleImportResponse toResponse(boolean completed, long nextLine) {
+            return ArticleImportResponse.builder()
+                    .imported(imported)
+                    .skipped(skipped)
+                    .lines(lines)
+                    .completed(completed)
+                    .nextLine(nextLine)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
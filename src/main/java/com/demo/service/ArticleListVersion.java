@@ -0,0 +1,54 @@
+package com.demo.service;
+
+import com.demo.util.TransactionUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 文章列表版本戳
+ * 任何文章创建、修改、删除提交后递增，作为列表接口条件请求的校验值，校验时不必查询列表。
+ * 版本戳包含本进程的启动时间，重启后旧的校验值自然失效；与其他进程内缓存一样只感知本实例的写入。
+ */
+@Component
+public class ArticleListVersion {
+
+    private final AtomicReference<Stamp> current;
+
+    public ArticleListVersion() {
+        long startedAt = System.currentTimeMillis();
+        this.current = new AtomicReference<>(new Stamp(startedAt, 0, startedAt));
+    }
+
+    /**
+     * 当前版本戳
+     */
+    public Stamp current() {
+        return current.get();
+    }
+
+    /**
+     * 在当前事务提交后递增版本
+     */
+    public void incrementAfterCommit() {
+        TransactionUtil.afterCommit(() -> current.updateAndGet(
+                stamp -> new Stamp(stamp.startedAt(), stamp.version() + 1, System.currentTimeMillis())));
+    }
+
+    /**
+     * 版本戳
+     *
+     * @param startedAt    进程启动时间（毫秒时间戳）
+     * @param version      自启动以来的修改次数
+     * @param lastModified 最近一次修改的时间（毫秒时间戳）
+     */
+    public record Stamp(long startedAt, long version, long lastModified) {
+
+        /**
+         * 用作ETag的不透明标识
+         */
+        public String tag() {
+            return "list-" + startedAt + "-" + version;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.demo.service;
+
+import com.demo.dto.response.ApiResponse;
+import com.demo.dto.response.ArticleDetailResponse;
+import com.demo.dto.response.ArticleListResponse;
+import com.demo.util.LocalCache;
+import com.demo.util.ResponseBytes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * 文章响应字节缓存
+ * 缓存文章详情和列表首页序列化后的完整响应（含gzip变体），热点请求直接输出字节，不再构建对象和序列化。
+ * 键包含资源版本（文章最后修改时间、列表版本戳），文章写入后旧键不再命中，由LRU和过期时间淘汰。
+ * 详情中的阅读量在输出时插入，始终是实时值；列表中的阅读量最多滞后一个过期时间。
+ */
+@Component
+public class ArticleResponseCache {
+
+    /** 序列化详情时阅读量的占位值，序列化后在该位置切分出插入点 */
+    private static final int VIEW_COUNT_PLACEHOLDER = Integer.MIN_VALUE;
+    private static final byte[] VIEW_COUNT_MARKER =
+            ("\"view_count\":" + VIEW_COUNT_PLACEHOLDER).getBytes(StandardCharsets.UTF_8);
+    private static final int VIEW_COUNT_VALUE_OFFSET = "\"view_count\":".length();
+
+    private final JsonMapper jsonMapper;
+    private final LocalCache<String, ResponseBytes> cache;
+    private final int maxListPageSize;
+
+    public ArticleResponseCache(JsonMapper jsonMapper,
+                                @Value("${article.response-cache.max-size:2000}") int maxSize,
+                                @Value("${article.response-cache.ttl-seconds:60}") long ttlSeconds,
+                                @Value("${article.response-cache.max-list-page-size:50}") int maxListPageSize) {
+        this.jsonMapper = jsonMapper;
+        this.cache = new LocalCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        this.maxListPageSize = maxListPageSize;
+    }
+
+    /**
+     * 文章详情响应，阅读量位置为插入点
+     *
+     * @throws IllegalStateException 序列化结果中找不到阅读量字段（如字段被改名），此时不缓存
+     */
+    public ResponseBytes detail(ArticleDetailCache.Entry entry) {
+        ArticleDetailResponse detail = entry.detail();
+        return cache.get("detail:" + detail.getArticleId() + ":" + entry.lastModified(), key -> renderDetail(detail));
+    }
+
+    /**
+     * 文章列表首页响应；只缓存默认近似总数、页大小不超过上限的第一页，其余请求返回null
+     */
+    public ResponseBytes listFirstPage(ArticleListVersion.Stamp version, Integer page, Integer pageSize, String cursor,
+                                       boolean exactTotal, String tag, String category,
+                                       Supplier<ArticleListResponse> loader) {
+        boolean firstPage = cursor != null ? cursor.isEmpty() : page == null || page <= 1;
+        if (!firstPage || exactTotal || (pageSize != null && pageSize > maxListPageSize)) {
+            return null;
+        }
+        String key = "list:" + version.tag() + ":" + (cursor != null ? "cursor" : "page") + ":" + pageSize
+                + ":" + tag + ":" + category;
+        return cache.get(key, k -> ResponseBytes.of(serialize(loader.get())));
+    }
+
+    private ResponseBytes renderDetail(ArticleDetailResponse detail) {
+        ArticleDetailResponse placeholder = detail.toBuilder().viewCount(VIEW_COUNT_PLACEHOLDER).build();
+        byte[] body = serialize(placeholder);
+        int at = indexOf(body, VIEW_COUNT_MARKER);
+        if (at < 0) {
+            // 不能缓存占位值，否则过期前的详情响应都会输出错误的阅读量
+            throw new IllegalStateException("文章详情序列化结果中没有阅读量字段：" + detail.getArticleId());
+        }
+        int insertAt = at + VIEW_COUNT_VALUE_OFFSET;
+        return ResponseBytes.withInsert(Arrays.copyOfRange(body, 0, insertAt),
+                Arrays.copyOfRange(body, at + VIEW_COUNT_MARKER.length, body.length));
+    }
+
+    private byte[] serialize(Object data) {
+        return jsonMapper.writeValueAsBytes(ApiResponse.builder().errorCode(0).data(data).build());
+    }
+
+    /**
+     * 第一次出现的位置；字符串值中的引号都已转义，不会误匹配字段名
+     */
+    private static int indexOf(byte[] data, byte[] target) {
+        outer:
+        for (int i = 0; i <= data.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (data[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
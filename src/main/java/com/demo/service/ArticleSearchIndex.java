@@ -0,0 +1,304 @@
+package com.demo.service;
+
+import com.demo.entity.Article;
+import com.demo.repository.ArticleRepository;
+import com.demo.util.SearchTokenizer;
+import com.demo.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 文章全文检索索引
+ * 进程内倒排索引，覆盖标题、正文和标签；启动时分批从数据库构建，文章增删改后在事务提交时增量更新。
+ * 排序使用BM25，标题和标签中的词按更高权重计入词频。
+ * 构建与请求并发进行：构建期间已增量更新的文章不再由构建写入，避免旧数据覆盖新的修改或删除。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int BUILD_BATCH_SIZE = 500;
+
+    private final ArticleRepository articleRepository;
+
+    /** 词 -> (文章ID -> 加权词频) */
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    /** 文章ID -> 文档信息，删除或重建文档时用于清理倒排表 */
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+    private long postingCount;
+    /** 构建期间增量更新过的文章ID，不在构建中时为null；只在持有写锁时读写 */
+    private Set<Long> touchedDuringBuild;
+
+    private final LongAdder queryCount = new LongAdder();
+    private final LongAdder queryNanos = new LongAdder();
+    private final AtomicLong maxQueryNanos = new AtomicLong();
+
+    /**
+     * 启动后分批加载全部文章建立索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        long afterId = 0;
+        int indexed = 0;
+        lock.writeLock().lock();
+        try {
+            touchedDuringBuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            while (true) {
+                List<Article> batch = articleRepository.findBatchAfter(afterId, Limit.of(BUILD_BATCH_SIZE));
+                for (Article article : batch) {
+                    index(article.getArticleId(), article.getTitle(), article.getContent(), article.getTags(), true);
+                }
+                indexed += batch.size();
+                if (batch.size() < BUILD_BATCH_SIZE) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getArticleId();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                touchedDuringBuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        Stats stats = stats();
+        log.info("文章检索索引构建完成：{} 篇文章，{} 个词，{} 条倒排记录，约 {} KB，耗时 {} ms",
+                indexed, stats.terms(), stats.postings(), stats.estimatedBytes() / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 在当前事务提交后索引（或重建）文章
+     */
+    public void indexAfterCommit(Article article) {
+        Long articleId = article.getArticleId();
+        String title = article.getTitle();
+        String content = article.getContent();
+        String tags = article.getTags();
+        TransactionUtil.afterCommit(() -> index(articleId, title, content, tags));
+    }
+
+    /**
+     * 在当前事务提交后从索引中移除文章
+     */
+    public void removeAfterCommit(Long articleId) {
+        TransactionUtil.afterCommit(() -> remove(articleId));
+    }
+
+    /**
+     * 索引（或重建）一篇文章
+     */
+    public void index(Long articleId, String title, String content, String tags) {
+        index(articleId, title, content, tags, false);
+    }
+
+    /**
+     * @param fromBuild 是否由启动构建写入；构建期间已增量更新过的文章跳过
+     */
+    private void index(Long articleId, String title, String content, String tags, boolean fromBuild) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        addTerms(termFreqs, title, TITLE_WEIGHT);
+        addTerms(termFreqs, tags, TAG_WEIGHT);
+        addTerms(termFreqs, content, CONTENT_WEIGHT);
+        int length = termFreqs.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            if (!recordTouched(articleId, fromBuild)) {
+                return;
+            }
+            removeLocked(articleId);
+            termFreqs.forEach((term, freq) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(articleId, freq));
+            docs.put(articleId, new Doc(length, termFreqs.keySet().toArray(new String[0])));
+            totalLength += length;
+            postingCount += termFreqs.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 从索引中移除文章
+     */
+    public void remove(Long articleId) {
+        lock.writeLock().lock();
+        try {
+            recordTouched(articleId, false);
+            removeLocked(articleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 检索文章，按相关度降序返回全部命中的文章ID
+     */
+    public List<Long> search(String query) {
+        long start = System.nanoTime();
+        Set<String> terms = new LinkedHashSet<>(SearchTokenizer.tokenizeForQuery(query));
+        List<Long> result;
+
+        lock.readLock().lock();
+        try {
+            result = rank(terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        queryCount.increment();
+        queryNanos.add(elapsed);
+        maxQueryNanos.accumulateAndGet(elapsed, Math::max);
+        return result;
+    }
+
+    /**
+     * 索引规模与查询耗时统计
+     */
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            long count = queryCount.sum();
+            return new Stats(docs.size(), postings.size(), postingCount, estimateBytes(),
+                    count, count == 0 ? 0 : queryNanos.sum() / count / 1000, maxQueryNanos.get() / 1000);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> rank(Set<String> terms) {
+        if (terms.isEmpty() || docs.isEmpty()) {
+            return List.of();
+        }
+
+        int docCount = docs.size();
+        double avgLength = (double) totalLength / docCount;
+        Map<Long, double[]> scores = new LinkedHashMap<>();
+        for (String term : terms) {
+            Map<Long, Integer> docFreqs = postings.get(term);
+            if (docFreqs == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (docCount - docFreqs.size() + 0.5) / (docFreqs.size() + 0.5));
+            docFreqs.forEach((articleId, freq) -> {
+                double norm = K1 * (1 - B + B * docs.get(articleId).length() / avgLength);
+                double[] score = scores.computeIfAbsent(articleId, id -> new double[2]);
+                score[0] += idf * freq * (K1 + 1) / (freq + norm);
+                score[1]++;
+            });
+        }
+
+        // 命中查询词越多越靠前：BM25得分乘以命中词占比
+        int termCount = terms.size();
+        List<Map.Entry<Long, double[]>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Comparator.<Map.Entry<Long, double[]>>comparingDouble(
+                        e -> -e.getValue()[0] * e.getValue()[1] / termCount)
+                .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()));
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    /**
+     * 构建期间记录增量更新的文章；返回本次写入是否应执行（构建写入已更新过的文章时返回false）
+     */
+    private boolean recordTouched(Long articleId, boolean fromBuild) {
+        if (touchedDuringBuild == null) {
+            return true;
+        }
+        if (fromBuild) {
+            return !touchedDuringBuild.contains(articleId);
+        }
+        touchedDuringBuild.add(articleId);
+        return true;
+    }
+
+    private void removeLocked(Long articleId) {
+        Doc doc = docs.remove(articleId);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.terms()) {
+            Map<Long, Integer> docFreqs = postings.get(term);
+            if (docFreqs != null) {
+                docFreqs.remove(articleId);
+                if (docFreqs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= doc.length();
+        postingCount -= doc.terms().length;
+    }
+
+    private static void addTerms(Map<String, Integer> termFreqs, String text, int weight) {
+        for (String term : SearchTokenizer.tokenizeForIndex(text)) {
+            termFreqs.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * 粗略估算索引占用的堆内存：按64位JVM开启压缩指针时的对象大小计算
+     */
+    private long estimateBytes() {
+        long bytes = 0;
+        for (Map.Entry<String, Map<Long, Integer>> entry : postings.entrySet()) {
+            // 词典节点 + 词字符串 + 倒排表HashMap（含桶数组）
+            bytes += 32 + 40 + entry.getKey().length() * 2L + 48 + entry.getValue().size() * 8L;
+        }
+        // 倒排记录：HashMap节点 + Long + Integer
+        bytes += postingCount * (32 + 16 + 16);
+        // 文档表：HashMap节点 + Long + Doc + 词数组
+        bytes += docs.size() * (32L + 16 + 24 + 16) + postingCount * 4;
+        return bytes;
+    }
+
+    private record Doc(int length, String[] terms) {
+    }
+
+    /**
+     * 索引统计
+     *
+     * @param documents      已索引文章数
+     * @param terms          词典大小
+     * @param postings       倒排记录数
+     * @param estimatedBytes 估算内存占用（字节）
+     * @param queries        查询次数
+     * @param avgQueryMicros 平均查询耗时（微秒）
+     * @param maxQueryMicros 最大查询耗时（微秒）
+     */
+    public record Stats(int documents, int terms, long postings, long estimatedBytes,
+                        long queries, long avgQueryMicros, long maxQueryMicros) {
+    }
+}
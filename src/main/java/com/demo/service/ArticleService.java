@@ -4,33 +4,77 @@ import com.demo.dto.request.CreateArticleRequest;
 import com.demo.dto.request.UpdateArticleRequest;
 import com.demo.dto.response.*;
 import com.demo.entity.Article;
+import com.demo.entity.ArticleTag;
 import com.demo.entity.User;
 import com.demo.exception.BusinessException;
 import com.demo.exception.ErrorCode;
+import com.demo.repository.ArticleListRow;
 import com.demo.repository.ArticleRepository;
+import com.demo.repository.ArticleTagRepository;
 import com.demo.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import com.demo.util.ArticleCursor;
+import com.demo.util.ArticleTags;
+import com.demo.util.DateUtil;
+import com.demo.util.ReplicaRouting;
+import com.demo.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * 文章服务实现类
  */
 @Service
-@RequiredArgsConstructor
 public class ArticleService {
 
+    private static final int DEFAULT_PAGE_SIZE = 10;
+
     private final ArticleRepository articleRepository;
+    private final ArticleTagRepository articleTagRepository;
     private final UserRepository userRepository;
+    private final ArticleViewCounter articleViewCounter;
+    private final ArticleTotalCounter articleTotalCounter;
+    private final ArticleDetailCache articleDetailCache;
+    private final FeedService feedService;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final AuthorArticlesCache authorArticlesCache;
+    private final ArticleListVersion articleListVersion;
+    private final int maxPageSize;
+
+    public ArticleService(ArticleRepository articleRepository,
+                          ArticleTagRepository articleTagRepository,
+                          UserRepository userRepository,
+                          ArticleViewCounter articleViewCounter,
+                          ArticleTotalCounter articleTotalCounter,
+                          ArticleDetailCache articleDetailCache,
+                          FeedService feedService,
+                          ArticleSearchIndex articleSearchIndex,
+                          AuthorArticlesCache authorArticlesCache,
+                          ArticleListVersion articleListVersion,
+                          @Value("${article.list.max-page-size:100}") int maxPageSize) {
+        this.articleRepository = articleRepository;
+        this.articleTagRepository = articleTagRepository;
+        this.userRepository = userRepository;
+        this.articleViewCounter = articleViewCounter;
+        this.articleTotalCounter = articleTotalCounter;
+        this.articleDetailCache = articleDetailCache;
+        this.feedService = feedService;
+        this.articleSearchIndex = articleSearchIndex;
+        this.authorArticlesCache = authorArticlesCache;
+        this.articleListVersion = articleListVersion;
+        this.maxPageSize = maxPageSize;
+    }
 
     /**
      * 创建文章
@@ -47,14 +91,17 @@ public class ArticleService {
         User author = userRepository.findById(authorId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
 
+        // 解析标签（只在写入时解析一次）
+        List<String> tags = ArticleTags.parse(request.getTags());
+
         // 创建文章
         Article article = Article.builder()
                 .title(request.getTitle())
                 .content(request.getContent())
                 .authorId(authorId)
                 .authorName(author.getName() != null ? author.getName() : author.getUsername())
-                .tags(request.getTags())
-                .category(request.getCategory())
+                .tags(ArticleTags.join(tags))
+                .category(blankToNull(request.getCategory()))
                 .viewCount(0)
                 .createTime(LocalDateTime.now())
                 .build();
@@ -64,12 +111,18 @@ public class ArticleService {
 
         // 保存文章
         article = articleRepository.save(article);
+        saveTags(article, tags);
+        articleTotalCounter.incrementAfterCommit();
+        authorArticlesCache.invalidate(authorId);
+        articleListVersion.incrementAfterCommit();
+        feedService.fanOut(author, article);
+        articleSearchIndex.indexAfterCommit(article);
 
         // 返回响应
         return ArticleCreateResponse.builder()
                 .articleId(String.valueOf(article.getArticleId()))
                 .title(article.getTitle())
-                .createTime(formatDateTime(article.getCreateTime()))
+                .createTime(DateUtil.toEpochSecondString(article.getCreateTime()))
                 .build();
     }
 
@@ -78,75 +131,326 @@ public class ArticleService {
      */
     @Transactional(readOnly = true)
     public ArticleListResponse getArticleList(Integer page, Integer pageSize) {
+        return getArticleList(page, pageSize, false);
+    }
+
+    /**
+     * 获取文章列表
+     * 总数默认取自计数器（近似值），exactTotal为true时执行COUNT查询
+     */
+    @Transactional(readOnly = true)
+    public ArticleListResponse getArticleList(Integer page, Integer pageSize, boolean exactTotal) {
+        return getArticleList(page, pageSize, exactTotal, null, null);
+    }
+
+    /**
+     * 按标签、分类筛选文章列表（均可为空）
+     * 不筛选时总数取自计数器；筛选时只在exactTotal为true时统计总数
+     */
+    @Transactional(readOnly = true)
+    public ArticleListResponse getArticleList(Integer page, Integer pageSize, boolean exactTotal,
+                                              String tag, String category) {
+        tag = blankToNull(tag);
+        category = blankToNull(category);
         try {
             // 设置默认值
             if (page == null || page < 1) {
                 page = 1;
             }
-            if (pageSize == null || pageSize < 1) {
-                pageSize = 10;
-            }
+            pageSize = pageSizeOf(pageSize);
 
             // 创建分页对象（page从0开始）
             Pageable pageable = PageRequest.of(page - 1, pageSize);
 
-            // 查询文章
-            Page<Article> articlePage = articleRepository.findAllByOrderByCreateTimeDesc(pageable);
+            // 查询文章（只取列表列）
+            Slice<ArticleListRow> articlePage = tag != null
+                    ? articleRepository.findListRowsByTag(tag, category, pageable)
+                    : category != null
+                    ? articleRepository.findListRowsByCategory(category, pageable)
+                    : articleRepository.findListRows(pageable);
 
             // 转换为响应对象
             List<ArticleListItemResponse> list = articlePage.getContent().stream()
-                    .map(article -> ArticleListItemResponse.builder()
-                            .articleId(String.valueOf(article.getArticleId()))
-                            .title(article.getTitle())
-                            .summary(article.getSummary())
-                            .authorName(article.getAuthorName())
-                            .createTime(formatDateTime(article.getCreateTime()))
-                            .viewCount(article.getViewCount())
-                            .build())
+                    .map(this::toListItem)
                     .collect(Collectors.toList());
 
             // 返回响应
             return ArticleListResponse.builder()
-                    .total(articlePage.getTotalElements())
+                    .total(totalOf(tag, category, exactTotal))
                     .page(page)
                     .pageSize(pageSize)
                     .list(list)
+                    .nextCursor(articlePage.hasNext() ? cursorOf(articlePage.getContent()) : null)
+                    .build();
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.ARTICLE_LIST_ERROR);
+        }
+    }
+
+    /**
+     * 游标分页获取文章列表
+     * 按 (create_time, article_id) 定位下一页，每页开销与第一页相同；总数取自计数器
+     */
+    @Transactional(readOnly = true)
+    public ArticleListResponse getArticleListByCursor(String cursor, Integer pageSize) {
+        return getArticleListByCursor(cursor, pageSize, null, null);
+    }
+
+    /**
+     * 按标签、分类筛选的游标分页（均可为空）
+     */
+    @Transactional(readOnly = true)
+    public ArticleListResponse getArticleListByCursor(String cursor, Integer pageSize, String tag, String category) {
+        tag = blankToNull(tag);
+        category = blankToNull(category);
+
+        // 解析游标（空游标表示第一页）
+        ArticleCursor after = ArticleCursor.decode(cursor);
+        pageSize = pageSizeOf(pageSize);
+
+        try {
+            // 多查一条用于判断是否还有下一页
+            Limit limit = Limit.of(pageSize + 1);
+            List<ArticleListRow> articles;
+            if (tag != null) {
+                articles = after == null
+                        ? articleRepository.findListRowsByTag(tag, category, limit)
+                        : articleRepository.findListRowsByTagAfter(tag, category,
+                                after.getCreateTime(), after.getArticleId(), limit);
+            } else if (category != null) {
+                articles = after == null
+                        ? articleRepository.findListRowsByCategory(category, limit)
+                        : articleRepository.findListRowsByCategoryAfter(category,
+                                after.getCreateTime(), after.getArticleId(), limit);
+            } else {
+                articles = after == null
+                        ? articleRepository.findListRows(limit)
+                        : articleRepository.findListRowsAfter(after.getCreateTime(), after.getArticleId(), limit);
+            }
+
+            boolean hasNext = articles.size() > pageSize;
+            if (hasNext) {
+                articles = articles.subList(0, pageSize);
+            }
+
+            List<ArticleListItemResponse> list = articles.stream()
+                    .map(this::toListItem)
+                    .collect(Collectors.toList());
+
+            return ArticleListResponse.builder()
+                    .total(totalOf(tag, category, false))
+                    .pageSize(pageSize)
+                    .list(list)
+                    .nextCursor(hasNext ? cursorOf(articles) : null)
                     .build();
         } catch (Exception e) {
             throw new BusinessException(ErrorCode.ARTICLE_LIST_ERROR);
         }
     }
 
+    /**
+     * 获取作者的文章列表：按创建时间降序，游标分页，total为该作者的文章总数
+     * 首页（pageSize不超过缓存行数）直接由作者文章缓存返回；不开启事务，缓存命中时不占用数据库连接
+     */
+    public ArticleListResponse getAuthorArticles(Long authorId, String cursor, Integer pageSize) {
+        ArticleCursor after = ArticleCursor.decode(cursor);
+        pageSize = pageSizeOf(pageSize);
+
+        AuthorArticlesCache.Entry firstPage = authorArticlesCache.get(authorId,
+                id -> ReplicaRouting.onPrimary(() -> loadAuthorFirstPage(id)));
+
+        // 多取一条用于判断是否还有下一页
+        List<ArticleListRow> articles;
+        if (after == null && pageSize <= authorArticlesCache.rows()) {
+            articles = firstPage.rows().subList(0, Math.min(pageSize + 1, firstPage.rows().size()));
+        } else {
+            Limit limit = Limit.of(pageSize + 1);
+            articles = after == null
+                    ? articleRepository.findListRowsByAuthor(authorId, limit)
+                    : articleRepository.findListRowsByAuthorAfter(authorId,
+                            after.getCreateTime(), after.getArticleId(), limit);
+        }
+
+        boolean hasNext = articles.size() > pageSize;
+        if (hasNext) {
+            articles = articles.subList(0, pageSize);
+        }
+
+        return ArticleListResponse.builder()
+                .total(firstPage.total())
+                .pageSize(pageSize)
+                .list(articles.stream().map(this::toListItem).collect(Collectors.toList()))
+                .nextCursor(hasNext ? cursorOf(articles) : null)
+                .build();
+    }
+
+    /**
+     * 加载作者文章缓存：最新的 rows()+1 条列表行，超过缓存行数时再统计总数
+     */
+    private AuthorArticlesCache.Entry loadAuthorFirstPage(Long authorId) {
+        if (!userRepository.existsById(authorId)) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
+        int rows = authorArticlesCache.rows();
+        List<ArticleListRow> articles = articleRepository.findListRowsByAuthor(authorId, Limit.of(rows + 1));
+        long total = articles.size() <= rows ? articles.size() : articleRepository.countByAuthorId(authorId);
+        return new AuthorArticlesCache.Entry(List.copyOf(articles), total);
+    }
+
+    /**
+     * 获取关注流：当前用户关注的作者发布的文章，按创建时间降序，游标分页
+     */
+    @Transactional(readOnly = true)
+    public ArticleListResponse getFeed(Long userId, String cursor, Integer pageSize) {
+        ArticleCursor after = ArticleCursor.decode(cursor);
+        pageSize = pageSizeOf(pageSize);
+
+        // 多取一条用于判断是否还有下一页
+        List<FeedTimelineCache.Item> items = feedService.page(userId, after, pageSize + 1);
+        boolean hasNext = items.size() > pageSize;
+        if (hasNext) {
+            items = items.subList(0, pageSize);
+        }
+
+        // 按时间线顺序加载文章，已删除的文章直接跳过
+        Map<Long, ArticleListRow> articles = articleRepository.findListRowsByIds(
+                        items.stream().map(FeedTimelineCache.Item::articleId).toList())
+                .stream()
+                .collect(Collectors.toMap(ArticleListRow::articleId, Function.identity()));
+        List<ArticleListItemResponse> list = items.stream()
+                .map(item -> articles.get(item.articleId()))
+                .filter(Objects::nonNull)
+                .map(this::toListItem)
+                .collect(Collectors.toList());
+
+        FeedTimelineCache.Item last = hasNext ? items.get(items.size() - 1) : null;
+        return ArticleListResponse.builder()
+                .pageSize(pageSize)
+                .list(list)
+                .nextCursor(last != null ? new ArticleCursor(last.createTime(), last.articleId()).encode() : null)
+                .build();
+    }
+
+    /**
+     * 全文检索文章：按相关度排序分页，total为命中总数
+     */
+    @Transactional(readOnly = true)
+    public ArticleListResponse searchArticles(String query, Integer page, Integer pageSize) {
+        if (query == null || query.isBlank()) {
+            throw new BusinessException(ErrorCode.SEARCH_QUERY_EMPTY);
+        }
+        if (page == null || page < 1) {
+            page = 1;
+        }
+        pageSize = pageSizeOf(pageSize);
+
+        List<Long> hits = articleSearchIndex.search(query);
+        int from = (int) Math.min((long) (page - 1) * pageSize, hits.size());
+        List<Long> pageIds = hits.subList(from, Math.min(from + pageSize, hits.size()));
+
+        // 按相关度顺序加载列表行
+        Map<Long, ArticleListRow> rows = articleRepository.findListRowsByIds(pageIds).stream()
+                .collect(Collectors.toMap(ArticleListRow::articleId, Function.identity()));
+        List<ArticleListItemResponse> list = pageIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(this::toListItem)
+                .collect(Collectors.toList());
+
+        return ArticleListResponse.builder()
+                .total((long) hits.size())
+                .page(page)
+                .pageSize(pageSize)
+                .list(list)
+                .build();
+    }
+
     /**
      * 获取文章详情
+     * 先查详情缓存，命中时不访问数据库；未命中时从主库加载并放入缓存（副本可能尚未同步刚提交的修改）
      */
-    @Transactional
     public ArticleDetailResponse getArticleDetail(Long articleId) {
+        ArticleDetailCache.Entry entry = getArticleDetailEntry(articleId);
+        long viewCount = recordView(articleId, entry);
+
+        // 复制快照并填入实时阅读量
+        return entry.detail().toBuilder()
+                .viewCount((int) viewCount)
+                .build();
+    }
+
+    /**
+     * 获取文章详情快照（不含阅读量，不计数），供直接输出预序列化响应的调用方使用
+     */
+    public ArticleDetailCache.Entry getArticleDetailEntry(Long articleId) {
+        return articleDetailCache.get(articleId, id -> ReplicaRouting.onPrimary(() -> loadArticleDetail(id)));
+    }
+
+    /**
+     * 记录一次阅读并返回实时阅读量
+     */
+    public long recordView(Long articleId, ArticleDetailCache.Entry entry) {
+        // 写入内存计数器，由定时任务批量写回
+        articleViewCounter.increment(articleId);
+        return entry.viewBase() + articleViewCounter.recorded(articleId);
+    }
+
+    /**
+     * 从数据库加载文章详情快照
+     */
+    private ArticleDetailCache.Entry loadArticleDetail(Long articleId) {
         // 查询文章
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ARTICLE_NOT_FOUND));
 
-        // 增加阅读量
-        articleRepository.incrementViewCount(articleId);
-        article.incrementViewCount();
+        // 阅读量基数 = 数据库值 + 未写回的增量 - 累计记录数
+        long viewBase = (article.getViewCount() == null ? 0 : article.getViewCount())
+                + articleViewCounter.unflushed(articleId)
+                - articleViewCounter.recorded(articleId);
 
-        // 处理标签
-        List<String> tagList = null;
-        if (article.getTags() != null && !article.getTags().isEmpty()) {
-            tagList = Arrays.asList(article.getTags().split(","));
-        }
+        // 标签以 article_tag 为准，按写入顺序
+        List<String> tags = articleTagRepository.findTagsByArticleId(articleId);
 
-        // 返回响应
-        return ArticleDetailResponse.builder()
+        ArticleDetailResponse detail = ArticleDetailResponse.builder()
                 .articleId(String.valueOf(article.getArticleId()))
                 .title(article.getTitle())
                 .authorName(article.getAuthorName())
-                .createTime(formatDateTime(article.getCreateTime()))
-                .viewCount(article.getViewCount())
+                .createTime(DateUtil.toEpochSecondString(article.getCreateTime()))
                 .content(article.getContent())
-                .tags(tagList)
+                .tags(tags.isEmpty() ? null : tags)
                 .category(article.getCategory())
                 .build();
+        LocalDateTime lastModified = article.getUpdateTime() != null ? article.getUpdateTime() : article.getCreateTime();
+        return new ArticleDetailCache.Entry(detail, viewBase, DateUtil.toEpochMilli(lastModified));
+    }
+
+    /**
+     * 文章最后修改时间（毫秒时间戳，未知时为-1），用于条件请求
+     * 优先取详情缓存，未命中时只查询时间列，不加载正文
+     */
+    public long getArticleLastModified(Long articleId) {
+        ArticleDetailCache.Entry entry = articleDetailCache.peek(articleId);
+        if (entry != null) {
+            return entry.lastModified();
+        }
+        ArticleRepository.ArticleVersion version = articleRepository.findVersionById(articleId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ARTICLE_NOT_FOUND));
+        return DateUtil.toEpochMilli(
+                version.getUpdateTime() != null ? version.getUpdateTime() : version.getCreateTime());
+    }
+
+    /**
+     * 记录一次阅读：条件请求返回304、不调用 getArticleDetail 时仍需计数
+     */
+    public void recordView(Long articleId) {
+        articleViewCounter.increment(articleId);
+    }
+
+    /**
+     * 文章列表当前版本戳，用于条件请求
+     */
+    public ArticleListVersion.Stamp getListVersion() {
+        return articleListVersion.current();
     }
 
     /**
@@ -174,14 +478,17 @@ public class ArticleService {
             article.generateSummary(); // 重新生成摘要
         }
 
-        // 更新标签
+        // 更新标签：重写标签关系
         if (request.getTags() != null) {
-            article.setTags(request.getTags());
+            List<String> tags = ArticleTags.parse(request.getTags());
+            article.setTags(ArticleTags.join(tags));
+            articleTagRepository.deleteByArticleId(articleId);
+            saveTags(article, tags);
         }
 
         // 更新分类
         if (request.getCategory() != null) {
-            article.setCategory(request.getCategory());
+            article.setCategory(blankToNull(request.getCategory()));
         }
 
         // 设置更新时间
@@ -189,11 +496,15 @@ public class ArticleService {
 
         // 保存更新
         articleRepository.save(article);
+        articleDetailCache.invalidate(articleId);
+        authorArticlesCache.invalidate(article.getAuthorId());
+        articleListVersion.incrementAfterCommit();
+        articleSearchIndex.indexAfterCommit(article);
 
         // 返回响应
         return ArticleUpdateResponse.builder()
                 .articleId(String.valueOf(article.getArticleId()))
-                .updateTime(formatDateTime(article.getUpdateTime()))
+                .updateTime(DateUtil.toEpochSecondString(article.getUpdateTime()))
                 .build();
     }
 
@@ -211,17 +522,79 @@ public class ArticleService {
             throw new BusinessException(ErrorCode.ARTICLE_ACCESS_DENIED);
         }
 
-        // 删除文章
+        // 删除文章及其标签关系
+        articleTagRepository.deleteByArticleId(articleId);
         articleRepository.delete(article);
+        TransactionUtil.afterCommit(() -> articleViewCounter.remove(articleId));
+        articleDetailCache.invalidate(articleId);
+        authorArticlesCache.invalidate(article.getAuthorId());
+        articleListVersion.incrementAfterCommit();
+        articleTotalCounter.decrementAfterCommit();
+        articleSearchIndex.removeAfterCommit(articleId);
     }
 
     /**
-     * 格式化日期时间为时间戳字符串
+     * 转换为列表项（包内可见，供基准测试调用）
      */
-    private String formatDateTime(LocalDateTime dateTime) {
-        if (dateTime == null) {
+    ArticleListItemResponse toListItem(ArticleListRow row) {
+        return ArticleListItemResponse.builder()
+                .articleId(String.valueOf(row.articleId()))
+                .title(row.title())
+                .summary(row.summary())
+                .authorName(row.authorName())
+                .createTime(DateUtil.toEpochSecondString(row.createTime()))
+                .viewCount(row.viewCount())
+                .build();
+    }
+
+    /**
+     * 列表总数：不筛选时取自计数器，筛选时按需统计（不需要时返回null）
+     */
+    private Long totalOf(String tag, String category, boolean exactTotal) {
+        if (tag == null && category == null) {
+            return exactTotal ? articleTotalCounter.exact() : articleTotalCounter.approximate();
+        }
+        if (!exactTotal) {
             return null;
         }
-        return String.valueOf(dateTime.toEpochSecond(ZoneOffset.of("+8")));
+        return tag != null
+                ? articleRepository.countByTag(tag, category)
+                : articleRepository.countByCategory(category);
+    }
+
+    /**
+     * 写入文章的标签关系
+     */
+    private void saveTags(Article article, List<String> tags) {
+        List<ArticleTag> rows = tags.stream()
+                .map(tag -> ArticleTag.builder()
+                        .articleId(article.getArticleId())
+                        .tag(tag)
+                        .createTime(article.getCreateTime())
+                        .build())
+                .toList();
+        articleTagRepository.saveAll(rows);
+    }
+
+    /**
+     * 每页条数：缺省为10，超过上限时按上限处理
+     */
+    private int pageSizeOf(Integer pageSize) {
+        if (pageSize == null || pageSize < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(pageSize, maxPageSize);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * 以本页最后一条文章生成下一页游标
+     */
+    private String cursorOf(List<ArticleListRow> rows) {
+        ArticleListRow last = rows.get(rows.size() - 1);
+        return new ArticleCursor(last.createTime(), last.articleId()).encode();
     }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.demo.service;
+
+import com.demo.exception.BusinessException;
+import com.demo.util.ArticleTags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文章标签关系回填
+ * 启动时为引入 article_tag 之前创建的文章（有标签但没有关系行）补写标签关系，并规范化 article.tags；
+ * 已回填完成时只执行一次反连接查询。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleTagBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String SELECT_SQL = "SELECT a.article_id, a.tags, COALESCE(a.create_time, CURRENT_TIMESTAMP) AS create_time "
+            + "FROM article a "
+            + "WHERE a.article_id > ? AND a.tags IS NOT NULL AND a.tags <> '' "
+            + "AND NOT EXISTS (SELECT 1 FROM article_tag t WHERE t.article_id = a.article_id) "
+            + "ORDER BY a.article_id LIMIT " + BATCH_SIZE;
+
+    private static final String INSERT_SQL = "INSERT INTO article_tag (article_id, tag, create_time) VALUES (?, ?, ?)";
+
+    private static final String NORMALIZE_SQL = "UPDATE article SET tags = ? WHERE article_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int articles = backfillAll();
+            if (articles > 0) {
+                log.info("文章标签关系回填完成，共处理 {} 篇文章", articles);
+            }
+        } catch (RuntimeException e) {
+            // 回填失败不影响启动，下次启动时继续
+            log.error("文章标签关系回填失败", e);
+        }
+    }
+
+    private int backfillAll() {
+        long afterId = 0;
+        int articles = 0;
+        while (true) {
+            List<Row> batch = jdbcTemplate.query(SELECT_SQL,
+                    (rs, rowNum) -> new Row(rs.getLong("article_id"), rs.getString("tags"), rs.getTimestamp("create_time")),
+                    afterId);
+            List<Object[]> tagRows = new ArrayList<>();
+            List<Object[]> normalized = new ArrayList<>();
+            for (Row row : batch) {
+                List<String> tags;
+                try {
+                    tags = ArticleTags.parse(row.tags());
+                } catch (BusinessException e) {
+                    log.warn("文章 {} 的标签不符合长度限制，跳过回填", row.articleId());
+                    continue;
+                }
+                for (String tag : tags) {
+                    tagRows.add(new Object[]{row.articleId(), tag, row.createTime()});
+                }
+                normalized.add(new Object[]{ArticleTags.join(tags), row.articleId()});
+            }
+            if (!tagRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, tagRows);
+            }
+            if (!normalized.isEmpty()) {
+                jdbcTemplate.batchUpdate(NORMALIZE_SQL, normalized);
+            }
+            articles += normalized.size();
+            if (batch.size() < BATCH_SIZE) {
+                return articles;
+            }
+            afterId = batch.get(batch.size() - 1).articleId();
+        }
+    }
+
+    private record Row(long articleId, String tags, Timestamp createTime) {
+    }
+}
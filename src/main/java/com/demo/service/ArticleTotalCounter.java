@@ -0,0 +1,83 @@
+package com.demo.service;
+
+import com.demo.repository.ArticleRepository;
+import com.demo.util.ReplicaRouting;
+import com.demo.util.TransactionUtil;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 文章总数计数器
+ * 创建、删除文章时在事务提交后增减，并定时与数据库对账，列表接口不必每次执行COUNT查询。
+ */
+@Component
+public class ArticleTotalCounter {
+
+    private static final long UNKNOWN = -1;
+
+    private final ArticleRepository articleRepository;
+    private final TransactionTemplate countTransaction;
+
+    private final AtomicLong total = new AtomicLong(UNKNOWN);
+
+    public ArticleTotalCounter(ArticleRepository articleRepository, PlatformTransactionManager transactionManager) {
+        this.articleRepository = articleRepository;
+        this.countTransaction = new TransactionTemplate(transactionManager);
+        this.countTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.countTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 近似总数（首次调用时从数据库加载）
+     */
+    public long approximate() {
+        long value = total.get();
+        return value == UNKNOWN ? exact() : value;
+    }
+
+    /**
+     * 精确总数：在主库执行一次COUNT查询并校正计数器
+     * 副本的复制延迟会丢失主库上已计入的增减，对账必须读主库；
+     * 在独立事务中执行，调用方所在的只读事务可能已经使用副本连接
+     */
+    public long exact() {
+        long count = ReplicaRouting.onPrimary(() -> countTransaction.execute(status -> articleRepository.count()));
+        total.set(count);
+        return count;
+    }
+
+    /**
+     * 文章创建后（事务提交时）计数加一
+     */
+    public void incrementAfterCommit() {
+        addAfterCommit(1);
+    }
+
+    /**
+     * 文章删除后（事务提交时）计数减一
+     */
+    public void decrementAfterCommit() {
+        addAfterCommit(-1);
+    }
+
+    /**
+     * 事务提交后批量增减计数
+     */
+    public void addAfterCommit(long delta) {
+        TransactionUtil.afterCommit(() -> total.updateAndGet(value -> value == UNKNOWN ? UNKNOWN : value + delta));
+    }
+
+    /**
+     * 定时与数据库对账，修正并发或外部写入造成的偏差
+     */
+    @Scheduled(fixedDelayString = "${article.total-count.reconcile-interval-ms:60000}",
+            initialDelayString = "${article.total-count.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        exact();
+    }
+}
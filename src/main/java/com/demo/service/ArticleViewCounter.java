@@ -0,0 +1,168 @@
+package com.demo.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 文章阅读量写缓冲
+ * 阅读量先累加到内存中的分段计数器，由定时任务合并为一次批量UPDATE写回 article.view_count，
+ * 避免每次阅读都对热点行加锁。
+ * 增量全部写回后，计数并入详情缓存的阅读量基数并丢弃，内存只保留近期被阅读的文章。
+ */
+@Slf4j
+@Component
+public class ArticleViewCounter {
+
+    private static final String FLUSH_SQL =
+            "UPDATE article SET view_count = COALESCE(view_count, 0) + ? WHERE article_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArticleDetailCache articleDetailCache;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    /** 串行化写回；不用synchronized，避免开启虚拟线程时在JDBC调用期间占住载体线程 */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ArticleViewCounter(JdbcTemplate jdbcTemplate,
+                              ArticleDetailCache articleDetailCache,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.articleDetailCache = articleDetailCache;
+        meterRegistry.ifAvailable(registry -> Gauge.builder("article.view.counters", counters, Map::size)
+                .description("内存中的阅读计数器数")
+                .register(registry));
+    }
+
+    /**
+     * 记录一次阅读
+     * 在映射的锁内累加，与丢弃空闲计数器互斥，不会累加到已丢弃的计数器上
+     */
+    public void increment(Long articleId) {
+        counters.compute(articleId, (id, counter) -> {
+            Counter current = counter != null ? counter : new Counter();
+            current.pending.increment();
+            current.recorded.increment();
+            return current;
+        });
+    }
+
+    /**
+     * 尚未写回数据库的阅读增量
+     */
+    public long unflushed(Long articleId) {
+        Counter counter = counters.get(articleId);
+        return counter == null ? 0 : counter.unflushed();
+    }
+
+    /**
+     * 计数器创建以来记录的阅读总数（不随写回清零，丢弃计数器时并入详情缓存的基数）
+     * 缓存文章时保存 数据库值 + 未写回增量 - 该值 作为基数，之后用 基数 + 该值 即可得到实时阅读量，无需再查库
+     */
+    public long recorded(Long articleId) {
+        Counter counter = counters.get(articleId);
+        return counter == null ? 0 : counter.recorded.sum();
+    }
+
+    /**
+     * 文章删除后丢弃其计数
+     */
+    public void remove(Long articleId) {
+        counters.remove(articleId);
+    }
+
+    /**
+     * 定时将增量批量写回数据库
+     */
+    @Scheduled(fixedDelayString = "${article.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        List<Object[]> batch = new ArrayList<>();
+        List<Counter> drained = new ArrayList<>();
+        List<Long> idle = new ArrayList<>();
+        counters.forEach((articleId, counter) -> {
+            long delta = counter.pending.sumThenReset();
+            if (delta > 0) {
+                counter.inFlight.addAndGet(delta);
+                batch.add(new Object[]{delta, articleId});
+                drained.add(counter);
+            } else {
+                idle.add(articleId);
+            }
+        });
+        // 上次刷新以来没有新阅读的计数器已全部写回
+        idle.forEach(this::discardIfFlushed);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (RuntimeException e) {
+            // 写回失败时把增量还给计数器，等待下一次刷新
+            for (int i = 0; i < drained.size(); i++) {
+                drained.get(i).pending.add((Long) batch.get(i)[0]);
+            }
+            log.warn("阅读量写回失败，{} 篇文章的增量将在下次重试", batch.size(), e);
+        } finally {
+            for (int i = 0; i < drained.size(); i++) {
+                drained.get(i).inFlight.addAndGet(-(Long) batch.get(i)[0]);
+            }
+        }
+    }
+
+    /**
+     * 丢弃已全部写回的计数器，累计阅读数先并入详情缓存的阅读量基数
+     */
+    private void discardIfFlushed(Long articleId) {
+        counters.computeIfPresent(articleId, (id, counter) -> {
+            if (counter.unflushed() != 0) {
+                return counter;
+            }
+            articleDetailCache.foldViews(id, counter.recorded.sum());
+            return null;
+        });
+    }
+
+    /**
+     * 应用关闭前写回所有未持久化的增量
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static final class Counter {
+        /** 尚未写回的增量 */
+        private final LongAdder pending = new LongAdder();
+        /** 正在写回、尚未提交的增量 */
+        private final AtomicLong inFlight = new AtomicLong();
+        /** 计数器创建以来的累计阅读数 */
+        private final LongAdder recorded = new LongAdder();
+
+        private long unflushed() {
+            return pending.sum() + inFlight.get();
+        }
+    }
+}
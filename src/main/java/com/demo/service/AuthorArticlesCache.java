@@ -0,0 +1,61 @@
+package com.demo.service;
+
+import com.demo.repository.ArticleListRow;
+import com.demo.util.LocalCache;
+import com.demo.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 作者文章列表首页缓存
+ * 以作者ID为键缓存最新的若干条列表行和文章总数，作者主页首屏命中时不访问数据库；
+ * 该作者创建、修改、删除文章时失效。列表中的阅读量最多滞后一个过期时间。
+ */
+@Component
+public class AuthorArticlesCache {
+
+    private final LocalCache<Long, Entry> cache;
+    private final int rows;
+
+    public AuthorArticlesCache(@Value("${article.author-cache.max-size:10000}") int maxSize,
+                               @Value("${article.author-cache.ttl-seconds:300}") long ttlSeconds,
+                               @Value("${article.author-cache.rows:50}") int rows) {
+        this.cache = new LocalCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        this.rows = rows;
+    }
+
+    /**
+     * 每个作者缓存的列表行数；首页 pageSize 不超过该值时可直接由缓存返回
+     */
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * 获取作者的首页缓存，未命中时通过loader加载
+     */
+    public Entry get(Long authorId, Function<Long, Entry> loader) {
+        return cache.get(authorId, loader);
+    }
+
+    /**
+     * 使缓存失效：立即移除，并在当前事务提交后再次移除；两次失效都会作废进行中的加载，提交前读到的旧数据不会写回缓存
+     */
+    public void invalidate(Long authorId) {
+        cache.invalidate(authorId);
+        TransactionUtil.afterCommit(() -> cache.invalidate(authorId));
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param rows  最新的 rows()+1 条列表行（多出的一条用于判断是否还有下一页），按创建时间降序
+     * @param total 作者的文章总数
+     */
+    public record Entry(List<ArticleListRow> rows, long total) {
+    }
+}
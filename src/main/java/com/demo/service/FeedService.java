@@ -0,0 +1,152 @@
+package com.demo.service;
+
+import com.demo.entity.Article;
+import com.demo.entity.User;
+import com.demo.repository.ArticleRepository;
+import com.demo.repository.FollowRepository;
+import com.demo.repository.UserRepository;
+import com.demo.util.ArticleCursor;
+import com.demo.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 关注流服务
+ * 写扩散：普通作者发布文章时推送到粉丝的内存时间线；
+ * 读合并：粉丝数超过阈值的作者不推送，读取时按游标从数据库查询并与时间线合并；
+ * 翻页超出内存时间线的范围时回退到数据库查询。
+ * 时间线构建时确定哪些作者读时合并，作者的粉丝数越过阈值后其粉丝的时间线失效、按新的划分重建。
+ */
+@Service
+public class FeedService {
+
+    private final ArticleRepository articleRepository;
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final FeedTimelineCache timelineCache;
+    private final int fanOutThreshold;
+
+    public FeedService(ArticleRepository articleRepository,
+                       FollowRepository followRepository,
+                       UserRepository userRepository,
+                       FeedTimelineCache timelineCache,
+                       @Value("${feed.fan-out-threshold:1000}") int fanOutThreshold) {
+        this.articleRepository = articleRepository;
+        this.followRepository = followRepository;
+        this.userRepository = userRepository;
+        this.timelineCache = timelineCache;
+        this.fanOutThreshold = fanOutThreshold;
+    }
+
+    /**
+     * 新文章写扩散：在当前事务提交后推送到粉丝的时间线
+     */
+    public void fanOut(User author, Article article) {
+        // 大V的文章在读取时合并
+        if (author.getFollowersCount() != null && author.getFollowersCount() > fanOutThreshold) {
+            return;
+        }
+        List<Long> followerIds = followRepository.findFollowerIds(author.getUserId());
+        if (followerIds.isEmpty()) {
+            return;
+        }
+        FeedTimelineCache.Item item = new FeedTimelineCache.Item(article.getArticleId(), article.getCreateTime());
+        TransactionUtil.afterCommit(() -> timelineCache.push(followerIds, item));
+    }
+
+    /**
+     * 批量导入文章后使粉丝的时间线失效，下次读取时从数据库重建，不逐篇推送
+     */
+    public void invalidateFollowers(User author) {
+        if (author.getFollowersCount() != null && author.getFollowersCount() > fanOutThreshold) {
+            return;
+        }
+        followRepository.findFollowerIds(author.getUserId()).forEach(timelineCache::invalidate);
+    }
+
+    /**
+     * 粉丝数变化后，使越过阈值的作者的粉丝时间线失效
+     * 须在粉丝数更新之后、同一事务内调用；delta为每个作者粉丝数的变化量（+1或-1）
+     */
+    public void invalidateOnThresholdCrossed(Collection<Long> authorIds, int delta) {
+        int crossedAt = delta > 0 ? fanOutThreshold + 1 : fanOutThreshold;
+        for (Long authorId : userRepository.findIdsByFollowersCount(authorIds, crossedAt)) {
+            followRepository.findFollowerIds(authorId).forEach(timelineCache::invalidate);
+        }
+    }
+
+    /**
+     * 关注关系变化后使该用户的时间线失效
+     */
+    public void invalidate(Long userId) {
+        timelineCache.invalidate(userId);
+    }
+
+    /**
+     * 获取游标之后的关注流条目，最多limit条，按 NEWEST_FIRST 排序
+     */
+    public List<FeedTimelineCache.Item> page(Long userId, ArticleCursor after, int limit) {
+        FeedTimelineCache.Timeline timeline = timelineCache.get(userId, this::buildTimeline);
+        if (timeline.followedIds().isEmpty()) {
+            return List.of();
+        }
+
+        List<FeedTimelineCache.Item> items = timeline.after(after, limit);
+        if (items.size() < limit && !timeline.isComplete()) {
+            // 超出内存时间线的范围，回退到数据库
+            return query(timeline.followedIds(), after, limit);
+        }
+        if (timeline.celebrityIds().isEmpty()) {
+            return items;
+        }
+
+        // 合并大V的文章，按文章ID去重
+        Map<Long, FeedTimelineCache.Item> merged = new HashMap<>();
+        items.forEach(item -> merged.put(item.articleId(), item));
+        query(timeline.celebrityIds(), after, limit).forEach(item -> merged.putIfAbsent(item.articleId(), item));
+        return merged.values().stream()
+                .sorted(FeedTimelineCache.NEWEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 从数据库构建时间线
+     */
+    private FeedTimelineCache.Timeline buildTimeline(Long userId) {
+        int capacity = timelineCache.capacity();
+        List<Long> followedIds = followRepository.findFollowedUserIds(userId);
+        if (followedIds.isEmpty()) {
+            return new FeedTimelineCache.Timeline(List.of(), List.of(), List.of(), capacity, true);
+        }
+
+        List<Long> celebrityIds = userRepository.findIdsByFollowersCountGreaterThan(followedIds, fanOutThreshold);
+        List<Long> regularIds = new ArrayList<>(followedIds);
+        regularIds.removeAll(celebrityIds);
+
+        List<FeedTimelineCache.Item> items = regularIds.isEmpty()
+                ? List.of()
+                : query(regularIds, null, capacity);
+        return new FeedTimelineCache.Timeline(followedIds, celebrityIds, items, capacity, items.size() < capacity);
+    }
+
+    /**
+     * 按游标查询一组作者的文章
+     */
+    private List<FeedTimelineCache.Item> query(Collection<Long> authorIds, ArticleCursor after, int limit) {
+        List<ArticleRepository.TimelineEntry> entries = after == null
+                ? articleRepository.findTimelineEntries(authorIds, Limit.of(limit))
+                : articleRepository.findTimelineEntriesAfter(authorIds, after.getCreateTime(), after.getArticleId(),
+                        Limit.of(limit));
+        return entries.stream()
+                .map(entry -> new FeedTimelineCache.Item(entry.getArticleId(), entry.getCreateTime()))
+                .toList();
+    }
+}
@@ -0,0 +1,204 @@
+package com.demo.service;
+
+import com.demo.util.ArticleCursor;
+import com.demo.util.LocalCache;
+import com.demo.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 关注流时间线缓存
+ * 每个用户一条有界的环形缓冲区，按 (create_time, article_id) 降序保存关注作者的最新文章ID；
+ * 新文章发布时推送到已加载的粉丝时间线中，未加载的时间线在首次读取时从数据库构建。
+ */
+@Component
+public class FeedTimelineCache {
+
+    /** 时间线条目排序：新的在前 */
+    public static final Comparator<Item> NEWEST_FIRST =
+            Comparator.comparing(Item::createTime).thenComparingLong(Item::articleId).reversed();
+
+    private final LocalCache<Long, Timeline> cache;
+    private final int capacity;
+
+    public FeedTimelineCache(@Value("${feed.timeline.capacity:200}") int capacity,
+                             @Value("${feed.timeline.max-users:10000}") int maxUsers,
+                             @Value("${feed.timeline.ttl-seconds:600}") long ttlSeconds) {
+        this.capacity = capacity;
+        this.cache = new LocalCache<>(maxUsers, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * 获取用户的时间线，未加载时通过loader构建
+     */
+    public Timeline get(Long userId, Function<Long, Timeline> loader) {
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * 每条时间线保存的最大条目数
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 把新文章推送到已加载的粉丝时间线中
+     * 未加载的时间线可能正在构建、读到的是提交前的数据，使其失效以丢弃本次构建结果
+     */
+    public void push(Collection<Long> followerIds, Item item) {
+        for (Long followerId : followerIds) {
+            Timeline timeline = cache.get(followerId);
+            if (timeline != null) {
+                timeline.push(item);
+            } else {
+                cache.invalidate(followerId);
+            }
+        }
+    }
+
+    /**
+     * 使时间线失效：立即移除，并在当前事务提交后再次移除
+     */
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+        TransactionUtil.afterCommit(() -> cache.invalidate(userId));
+    }
+
+    /**
+     * 使全部时间线失效
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 时间线条目
+     */
+    public record Item(long articleId, LocalDateTime createTime) {
+
+        /**
+         * 是否排在游标之后（游标为null表示第一页）
+         */
+        public boolean isAfter(ArticleCursor cursor) {
+            if (cursor == null) {
+                return true;
+            }
+            int cmp = createTime.compareTo(cursor.getCreateTime());
+            return cmp < 0 || (cmp == 0 && articleId < cursor.getArticleId());
+        }
+    }
+
+    /**
+     * 单个用户的时间线
+     * 普通作者的文章保存在环形缓冲区中；粉丝数超过阈值的作者（大V）不推送，读取时再合并
+     */
+    public static final class Timeline {
+
+        private final List<Long> followedIds;
+        private final List<Long> celebrityIds;
+        private final Item[] ring;
+        /** 最新条目的下标 */
+        private int head;
+        private int size;
+        /** 缓冲区是否包含普通作者的全部文章，溢出后置为false */
+        private boolean complete;
+
+        /**
+         * @param followedIds  关注的全部用户ID
+         * @param celebrityIds 其中读时合并的大V用户ID
+         * @param items        普通作者的最新文章，按 NEWEST_FIRST 排序
+         * @param capacity     缓冲区容量
+         * @param complete     items 是否已包含普通作者的全部文章
+         */
+        public Timeline(List<Long> followedIds, List<Long> celebrityIds, List<Item> items,
+                        int capacity, boolean complete) {
+            this.followedIds = followedIds;
+            this.celebrityIds = celebrityIds;
+            this.ring = new Item[capacity];
+            this.complete = complete;
+            for (int i = Math.min(items.size(), capacity) - 1; i >= 0; i--) {
+                addFirst(items.get(i));
+            }
+        }
+
+        public List<Long> followedIds() {
+            return followedIds;
+        }
+
+        public List<Long> celebrityIds() {
+            return celebrityIds;
+        }
+
+        public synchronized boolean isComplete() {
+            return complete;
+        }
+
+        /**
+         * 推送一条新文章，缓冲区满时覆盖最旧的条目
+         */
+        public synchronized void push(Item item) {
+            List<Item> items = snapshot();
+            if (items.stream().anyMatch(existing -> existing.articleId() == item.articleId())) {
+                return;
+            }
+            if (size == 0 || NEWEST_FIRST.compare(item, items.get(0)) < 0) {
+                addFirst(item);
+                return;
+            }
+
+            // 提交顺序与创建时间不一致时按序重排
+            items.add(item);
+            items.sort(NEWEST_FIRST);
+            if (items.size() > ring.length) {
+                items = items.subList(0, ring.length);
+                complete = false;
+            }
+            head = 0;
+            size = 0;
+            for (int i = items.size() - 1; i >= 0; i--) {
+                addFirst(items.get(i));
+            }
+        }
+
+        /**
+         * 获取游标之后的条目，最多limit条
+         */
+        public synchronized List<Item> after(ArticleCursor cursor, int limit) {
+            List<Item> result = new ArrayList<>(Math.min(limit, size));
+            for (int i = 0; i < size && result.size() < limit; i++) {
+                Item item = ring[(head + i) % ring.length];
+                if (item.isAfter(cursor)) {
+                    result.add(item);
+                }
+            }
+            return result;
+        }
+
+        private void addFirst(Item item) {
+            head = (head - 1 + ring.length) % ring.length;
+            ring[head] = item;
+            if (size < ring.length) {
+                size++;
+            } else {
+                complete = false;
+            }
+        }
+
+        private List<Item> snapshot() {
+            List<Item> items = new ArrayList<>(size + 1);
+            for (int i = 0; i < size; i++) {
+                items.add(ring[(head + i) % ring.length]);
+            }
+            return items;
+        }
+    }
+}
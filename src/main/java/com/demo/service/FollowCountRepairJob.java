@@ -0,0 +1,79 @@
+package com.demo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 粉丝数/关注数修复任务
+ * 按用户ID区间分块，用 follow 表的实际计数重写 user 表的冗余计数；每块一条语句、独立提交，
+ * 避免长事务锁住整张用户表。
+ * 计数列上线前已存在的用户计数为0，启动后先执行一次修复回填；完成之前计数不可信，
+ * 读取方应改用 follow 表统计（见 isBackfilled）。
+ */
+@Slf4j
+@Component
+public class FollowCountRepairJob {
+
+    private static final String REPAIR_SQL = "UPDATE user u SET "
+            + "followers_count = (SELECT COUNT(*) FROM follow f WHERE f.followed_user_id = u.user_id), "
+            + "following_count = (SELECT COUNT(*) FROM follow f WHERE f.follower_id = u.user_id) "
+            + "WHERE u.user_id >= ? AND u.user_id < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FeedTimelineCache feedTimelineCache;
+    private final int chunkSize;
+    private volatile boolean backfilled;
+
+    public FollowCountRepairJob(JdbcTemplate jdbcTemplate,
+                                FeedTimelineCache feedTimelineCache,
+                                @Value("${follow.count-repair.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.feedTimelineCache = feedTimelineCache;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 启动后回填计数；失败时保持未回填状态，由下一次定时修复补上
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            repairAll();
+        } catch (RuntimeException e) {
+            log.error("粉丝数/关注数回填失败，计数改由follow表统计", e);
+        }
+    }
+
+    /**
+     * 计数是否已至少完整修复过一次
+     */
+    public boolean isBackfilled() {
+        return backfilled;
+    }
+
+    /**
+     * 定时重算所有用户的计数
+     * 修复后作者可能越过写扩散阈值，关注流时间线全部失效，按新的计数重建
+     */
+    @Scheduled(cron = "${follow.count-repair.cron:0 30 3 * * *}")
+    public void repairAll() {
+        Long maxUserId = jdbcTemplate.queryForObject("SELECT MAX(user_id) FROM user", Long.class);
+        if (maxUserId == null) {
+            backfilled = true;
+            return;
+        }
+
+        long updated = 0;
+        for (long from = 1; from <= maxUserId; from += chunkSize) {
+            updated += jdbcTemplate.update(REPAIR_SQL, from, from + chunkSize);
+        }
+        backfilled = true;
+        feedTimelineCache.invalidateAll();
+        log.info("粉丝数/关注数修复完成，共处理 {} 个用户", updated);
+    }
+}
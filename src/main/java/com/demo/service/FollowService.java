@@ -7,10 +7,22 @@ import com.demo.exception.ErrorCode;
 import com.demo.repository.FollowRepository;
 import com.demo.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * 关注服务实现类
@@ -19,8 +31,19 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class FollowService {
 
+    /** 批量查询/批量关注一次最多处理的用户数 */
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO follow (follower_id, followed_user_id, create_time) VALUES (?, ?, ?)";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM follow WHERE follower_id = ? AND followed_user_id = ?";
+
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
+    private final FeedService feedService;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
      * 添加关注
@@ -52,6 +75,14 @@ public class FollowService {
                 .build();
 
         followRepository.save(follow);
+
+        // 同一事务内原子更新双方的冗余计数
+        userRepository.addFollowingCount(followerId, 1);
+        userRepository.addFollowersCount(followedUserId, 1);
+        feedService.invalidateOnThresholdCrossed(List.of(followedUserId), 1);
+
+        // 关注列表变化，重建关注流时间线
+        feedService.invalidate(followerId);
     }
 
     /**
@@ -64,12 +95,125 @@ public class FollowService {
             throw new BusinessException(ErrorCode.CANNOT_FOLLOW_SELF);
         }
 
-        // 检查关注关系是否存在
-        if (!followRepository.existsByFollowerIdAndFollowedUserId(followerId, followedUserId)) {
+        // 删除关注关系，没有删除任何行说明未关注
+        if (followRepository.deleteByFollowerIdAndFollowedUserId(followerId, followedUserId) == 0) {
             throw new BusinessException(ErrorCode.NOT_FOLLOWED);
         }
 
-        // 删除关注关系
-        followRepository.deleteByFollowerIdAndFollowedUserId(followerId, followedUserId);
+        // 同一事务内原子更新双方的冗余计数
+        userRepository.addFollowingCount(followerId, -1);
+        userRepository.addFollowersCount(followedUserId, -1);
+        feedService.invalidateOnThresholdCrossed(List.of(followedUserId), -1);
+
+        // 关注列表变化，重建关注流时间线
+        feedService.invalidate(followerId);
+    }
+
+    /**
+     * 批量查询关注状态：用一条IN查询判断viewer是否关注了每个用户
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Boolean> getFollowStatus(Long viewerId, Collection<Long> userIds) {
+        Set<Long> ids = distinct(userIds);
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<Long> followed = new HashSet<>(followRepository.findFollowedUserIdsIn(viewerId, ids));
+        Map<Long, Boolean> status = new LinkedHashMap<>();
+        for (Long id : ids) {
+            status.put(id, followed.contains(id));
+        }
+        return status;
+    }
+
+    /**
+     * 批量关注：跳过自己、不存在的用户和已关注的用户，其余用JDBC批量插入，返回实际关注的用户ID
+     */
+    @Transactional
+    public List<Long> followUsers(Long followerId, Collection<Long> userIds) {
+        Set<Long> ids = distinct(userIds);
+        ids.remove(followerId);
+        if (!userRepository.existsById(followerId)) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        ids.retainAll(userRepository.findExistingIds(ids));
+        if (!ids.isEmpty()) {
+            followRepository.findFollowedUserIdsIn(followerId, ids).forEach(ids::remove);
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> followed = new ArrayList<>(ids);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, followed.stream()
+                    .map(id -> new Object[]{followerId, id, now})
+                    .toList());
+        } catch (DuplicateKeyException e) {
+            // 并发请求已插入其中某个关注关系，整批回滚
+            throw new BusinessException(ErrorCode.ALREADY_FOLLOWED);
+        }
+
+        // 计数：关注数一次加n，被关注者各加1（一条IN更新）
+        userRepository.addFollowingCount(followerId, followed.size());
+        userRepository.addFollowersCountIn(followed, 1);
+        feedService.invalidateOnThresholdCrossed(followed, 1);
+
+        feedService.invalidate(followerId);
+        return followed;
+    }
+
+    /**
+     * 批量取消关注：用JDBC批量删除，按每条语句的影响行数确定实际取消的用户ID
+     */
+    @Transactional
+    public List<Long> unfollowUsers(Long followerId, Collection<Long> userIds) {
+        Set<Long> ids = distinct(userIds);
+        ids.remove(followerId);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> candidates = new ArrayList<>(ids);
+        int[] counts = jdbcTemplate.batchUpdate(DELETE_SQL, candidates.stream()
+                .map(id -> new Object[]{followerId, id})
+                .toList());
+        List<Long> unfollowed = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                unfollowed.add(candidates.get(i));
+            }
+        }
+        if (unfollowed.isEmpty()) {
+            return unfollowed;
+        }
+
+        userRepository.addFollowingCount(followerId, -unfollowed.size());
+        userRepository.addFollowersCountIn(unfollowed, -1);
+        feedService.invalidateOnThresholdCrossed(unfollowed, -1);
+
+        feedService.invalidate(followerId);
+        return unfollowed;
+    }
+
+    /**
+     * 去重并检查数量上限
+     */
+    private static Set<Long> distinct(Collection<Long> userIds) {
+        if (userIds == null) {
+            return new LinkedHashSet<>();
+        }
+        if (userIds.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException(ErrorCode.FOLLOW_BATCH_TOO_LARGE);
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        userIds.stream().filter(Objects::nonNull).forEach(ids::add);
+        return ids;
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.demo.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 最后登录时间写缓冲
+ * 登录时只在内存中记录每个用户最近一次的登录时间，同一用户在刷新间隔内的多次登录合并为一次写入，
+ * 由定时任务批量写回 user.last_login_time，登录请求本身不再写库。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LastLoginRecorder {
+
+    private static final int BATCH_SIZE = 500;
+
+    /** 只向后推进，避免多实例或重试时旧值覆盖新值 */
+    private static final String FLUSH_SQL = "UPDATE user SET last_login_time = ? "
+            + "WHERE user_id = ? AND (last_login_time IS NULL OR last_login_time < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    /** 串行化写回，与 ArticleViewCounter 相同 */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * 记录一次登录
+     */
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (current, time) -> time.isAfter(current) ? time : current);
+    }
+
+    /**
+     * 定时将登录时间批量写回数据库
+     */
+    @Scheduled(fixedDelayString = "${user.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(pending.size());
+        pending.forEach((userId, loginTime) -> batch.add(Map.entry(userId, loginTime)));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch, BATCH_SIZE, (ps, entry) -> {
+                Timestamp loginTime = Timestamp.valueOf(entry.getValue());
+                ps.setTimestamp(1, loginTime);
+                ps.setLong(2, entry.getKey());
+                ps.setTimestamp(3, loginTime);
+            });
+        } catch (RuntimeException e) {
+            // 写回失败时保留在内存中，等待下一次刷新
+            log.warn("最后登录时间写回失败，{} 个用户将在下次重试", batch.size(), e);
+            return;
+        }
+
+        // 只移除已写回的值；刷新期间再次登录的用户保留新值
+        for (Map.Entry<Long, LocalDateTime> entry : batch) {
+            pending.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 应用关闭前写回所有未持久化的登录时间
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -12,13 +12,15 @@ import com.demo.exception.ErrorCode;
 import com.demo.repository.FollowRepository;
 import com.demo.repository.UserRepository;
 import com.demo.security.JwtTokenProvider;
+import com.demo.security.PasswordHasher;
+import com.demo.security.PrincipalCache;
+import com.demo.util.DateUtil;
+import com.demo.util.TransactionUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.time.ZoneOffset;
 import java.util.ArrayList;
 
 /**
@@ -29,14 +31,17 @@ import java.util.ArrayList;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final FollowRepository followRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenProvider jwtTokenProvider;
+    private final PrincipalCache principalCache;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final FollowRepository followRepository;
+    private final FollowCountRepairJob followCountRepairJob;
 
     /**
      * 用户注册
+     * 不在事务中执行：密码哈希在独立线程池中计算，期间不占用数据库连接
      */
-    @Transactional
     public RegisterResponse register(RegisterRequest request) {
         // 验证必填字段
         if (request.getUsername() == null || request.getUsername().trim().isEmpty()
@@ -52,7 +57,7 @@ public class UserService {
         // 创建新用户
         User user = User.builder()
                 .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHasher.encode(request.getPassword()))
                 .name(request.getName() != null ? request.getName() : request.getUsername())
                 .email(request.getEmail())
                 .createTime(LocalDateTime.now())
@@ -67,15 +72,15 @@ public class UserService {
                 .name(user.getName())
                 .groupId(2) // 2: 普通用户
                 .blogList(new ArrayList<>())
-                .createTime(formatDateTime(user.getCreateTime()))
+                .createTime(DateUtil.toEpochSecondString(user.getCreateTime()))
                 .lastLoginTime("0")
                 .build();
     }
 
     /**
      * 用户登录
+     * 不在事务中执行：密码校验在独立线程池中计算，期间不占用数据库连接；最后登录时间由 LastLoginRecorder 异步批量写回
      */
-    @Transactional
     public LoginResponse login(LoginRequest request) {
         // 验证必填字段
         if (request.getUsername() == null || request.getUsername().trim().isEmpty()
@@ -88,16 +93,16 @@ public class UserService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.INVALID_CREDENTIALS));
 
         // 验证密码
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
             throw new BusinessException(ErrorCode.INVALID_CREDENTIALS);
         }
 
-        // 更新最后登录时间
+        // 更新最后登录时间（异步写回）
         user.setLastLoginTime(LocalDateTime.now());
-        userRepository.save(user);
+        lastLoginRecorder.record(user.getUserId(), user.getLastLoginTime());
 
         // 生成JWT令牌
-        String accessToken = jwtTokenProvider.generateToken(user.getUsername());
+        String accessToken = jwtTokenProvider.generateToken(user.getUserId(), user.getUsername());
 
         // 生成刷新令牌（暂时与访问令牌相同，后续可以实现不同的过期时间）
         String refreshToken = jwtTokenProvider.generateToken(user.getUsername() + ":refresh");
@@ -112,8 +117,8 @@ public class UserService {
                 .name(user.getName())
                 .groupId(2) // 默认普通用户组
                 .blogList(new ArrayList<>())
-                .createTime(formatDateTime(user.getCreateTime()))
-                .lastLoginTime(formatDateTime(user.getLastLoginTime()))
+                .createTime(DateUtil.toEpochSecondString(user.getCreateTime()))
+                .lastLoginTime(DateUtil.toEpochSecondString(user.getLastLoginTime()))
                 .build();
 
         // 构建完整的登录响应
@@ -128,6 +133,8 @@ public class UserService {
 
     /**
      * 获取用户资料
+     * 粉丝数/关注数是user表上的冗余列，一次主键查询即可取得，无需再拆成并发子查询；
+     * 启动回填完成前改由follow表统计
      */
     @Transactional(readOnly = true)
     public UserProfileResponse getUserProfile(Long userId) {
@@ -135,16 +142,12 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
 
-        // 获取粉丝数和关注数
-        Long followers = followRepository.countByFollowedUserId(userId);
-        Long following = followRepository.countByFollowerId(userId);
-
         return UserProfileResponse.builder()
                 .id(user.getUserId())
                 .username(user.getUsername())
                 .email(user.getEmail())
-                .followers(followers.intValue())
-                .following(following.intValue())
+                .followers(followersCount(user))
+                .following(followingCount(user))
                 .build();
     }
 
@@ -179,21 +182,37 @@ public class UserService {
 
         // 保存更新
         userRepository.save(user);
-
-        // 获取粉丝数和关注数
-        Long followers = followRepository.countByFollowedUserId(userId);
-        Long following = followRepository.countByFollowerId(userId);
+        principalCache.invalidate(userId);
+        TransactionUtil.afterCommit(() -> principalCache.invalidate(userId));
 
         // 返回更新后的用户资料
         return UserProfileResponse.builder()
                 .id(user.getUserId())
                 .username(user.getUsername())
                 .email(user.getEmail())
-                .followers(followers.intValue())
-                .following(following.intValue())
+                .followers(followersCount(user))
+                .following(followingCount(user))
                 .build();
     }
 
+    /**
+     * 粉丝数：回填完成前user表上的冗余列不可信，从follow表统计
+     */
+    private Integer followersCount(User user) {
+        return followCountRepairJob.isBackfilled()
+                ? user.getFollowersCount()
+                : followRepository.countByFollowedUserId(user.getUserId()).intValue();
+    }
+
+    /**
+     * 关注数：回填完成前从follow表统计
+     */
+    private Integer followingCount(User user) {
+        return followCountRepairJob.isBackfilled()
+                ? user.getFollowingCount()
+                : followRepository.countByFollowerId(user.getUserId()).intValue();
+    }
+
     /**
      * 根据用户名获取用户ID
      */
@@ -202,14 +221,4 @@ public class UserService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.FORBIDDEN));
         return user.getUserId();
     }
-
-    /**
-     * 格式化日期时间为时间戳字符串
-     */
-    private String formatDateTime(LocalDateTime dateTime) {
-        if (dateTime == null) {
-            return null;
-        }
-        return String.valueOf(dateTime.toEpochSecond(ZoneOffset.of("+8")));
-    }
 }
\ No newline at end of file
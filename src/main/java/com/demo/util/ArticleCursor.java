@@ -0,0 +1,53 @@
+package com.demo.util;
+
+import com.demo.exception.BusinessException;
+import com.demo.exception.ErrorCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 文章游标分页的游标
+ * 记录上一页最后一条文章的 (create_time, article_id)，对外编码为不透明的 Base64 字符串
+ */
+@Getter
+public final class ArticleCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createTime;
+    private final Long articleId;
+
+    public ArticleCursor(LocalDateTime createTime, Long articleId) {
+        this.createTime = createTime;
+        this.articleId = articleId;
+    }
+
+    /**
+     * 编码为游标字符串
+     */
+    public String encode() {
+        String raw = createTime.toString() + SEPARATOR + articleId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串，空字符串表示从第一页开始（返回null）
+     */
+    public static ArticleCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            return new ArticleCursor(
+                    LocalDateTime.parse(raw.substring(0, index)),
+                    Long.valueOf(raw.substring(index + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.demo.util;
+
+import com.demo.exception.BusinessException;
+import com.demo.exception.ErrorCode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 文章标签工具类
+ * 请求中的标签是逗号分隔的字符串，写入时解析一次：去空白、去重、保持原顺序
+ */
+public final class ArticleTags {
+
+    /** 单个标签最大长度，与 article_tag.tag 列一致 */
+    public static final int MAX_TAG_LENGTH = 50;
+
+    /** 拼接后的最大长度，与 article.tags 列一致 */
+    public static final int MAX_JOINED_LENGTH = 255;
+
+    private static final String SEPARATOR = ",";
+
+    private ArticleTags() {
+    }
+
+    /**
+     * 解析逗号分隔的标签，支持中英文逗号；标签过长时抛出 ARTICLE_TAG_INVALID
+     */
+    public static List<String> parse(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return List.of();
+        }
+        Set<String> tags = new LinkedHashSet<>();
+        for (String part : raw.split("[,，]")) {
+            String tag = part.trim();
+            if (tag.isEmpty()) {
+                continue;
+            }
+            if (tag.length() > MAX_TAG_LENGTH) {
+                throw new BusinessException(ErrorCode.ARTICLE_TAG_INVALID);
+            }
+            tags.add(tag);
+        }
+        List<String> result = new ArrayList<>(tags);
+        String joined = join(result);
+        if (joined != null && joined.length() > MAX_JOINED_LENGTH) {
+            throw new BusinessException(ErrorCode.ARTICLE_TAG_INVALID);
+        }
+        return result;
+    }
+
+    /**
+     * 拼接为 article.tags 列的存储格式，没有标签时返回null
+     */
+    public static String join(List<String> tags) {
+        return tags.isEmpty() ? null : String.join(SEPARATOR, tags);
+    }
+}
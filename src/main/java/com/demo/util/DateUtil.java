@@ -1,4 +1,47 @@
 package com.demo.util;
 
-public class DateUtil {
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 日期工具类
+ */
+public final class DateUtil {
+
+    /** 业务时间统一按东八区解释 */
+    private static final ZoneOffset OFFSET = ZoneOffset.ofHours(8);
+
+    private DateUtil() {
+    }
+
+    /**
+     * 格式化日期时间为秒级时间戳字符串，null返回null
+     */
+    public static String toEpochSecondString(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return null;
+        }
+        return Long.toString(dateTime.toEpochSecond(OFFSET));
+    }
+
+    /**
+     * 日期时间转换为秒级时间戳，null返回null
+     */
+    public static Long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toEpochSecond(OFFSET);
+    }
+
+    /**
+     * 日期时间转换为毫秒时间戳，null返回-1
+     */
+    public static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime == null ? -1 : dateTime.toInstant(OFFSET).toEpochMilli();
+    }
+
+    /**
+     * 秒级时间戳转换为日期时间
+     */
+    public static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, OFFSET);
+    }
 }
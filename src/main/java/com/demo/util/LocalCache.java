@@ -0,0 +1,222 @@
+package com.demo.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * 进程内有界缓存
+ * 按key哈希分段，每段是一个按访问顺序淘汰的 LinkedHashMap（分段加锁），条目可设置过期时间，
+ * 并统计命中、未命中和容量淘汰次数。
+ * 每段按key哈希维护失效代数：invalidate 递增代数，加载期间代数变化的结果被丢弃，
+ * 避免与失效并发的加载把旧数据写回缓存。
+ */
+public class LocalCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int GENERATION_STRIPES = 64;
+
+    private final Segment<K, V>[] segments;
+    private final long ttlMillis;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize 最大条目数
+     * @param ttl     默认过期时间，为null时条目不过期（仍受容量限制）
+     */
+    @SuppressWarnings("unchecked")
+    public LocalCache(int maxSize, Duration ttl) {
+        int segmentCount = Math.max(1, Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maxSize / 16))));
+        int segmentCapacity = Math.max(1, (maxSize + segmentCount - 1) / segmentCount);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentCapacity, evictions);
+        }
+        this.ttlMillis = ttl == null ? 0 : ttl.toMillis();
+    }
+
+    /**
+     * 获取缓存值，不存在或已过期时返回null
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+            if (entry != null && entry.expireAt != 0 && entry.expireAt <= System.currentTimeMillis()) {
+                segment.remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    /**
+     * 获取缓存值，不存在时用loader加载并放入缓存（loader返回null时不缓存）
+     * 加载期间该key被失效时，本次结果照常返回但不放入缓存
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Segment<K, V> segment = segmentFor(key);
+        int stripe = stripeFor(key);
+        long generation;
+        synchronized (segment) {
+            V value = get(key);
+            if (value != null) {
+                return value;
+            }
+            generation = segment.generations[stripe];
+        }
+
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (segment) {
+                if (segment.generations[stripe] == generation) {
+                    segment.put(key, new Entry<>(value, ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 放入缓存，使用默认过期时间
+     */
+    public void put(K key, V value) {
+        put(key, value, ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0);
+    }
+
+    /**
+     * 放入缓存，并指定过期时刻（毫秒时间戳，0表示不过期）
+     */
+    public void put(K key, V value, long expireAtMillis) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, new Entry<>(value, expireAtMillis));
+        }
+    }
+
+    /**
+     * 替换已缓存的值（保留过期时间），不存在或已过期时不做处理
+     * 同时作废该key进行中的加载，加载结果可能基于替换前的状态
+     */
+    public void computeIfPresent(K key, UnaryOperator<V> remapping) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.generations[stripeFor(key)]++;
+            Entry<V> entry = segment.get(key);
+            if (entry == null || (entry.expireAt != 0 && entry.expireAt <= System.currentTimeMillis())) {
+                return;
+            }
+            segment.put(key, new Entry<>(remapping.apply(entry.value), entry.expireAt));
+        }
+    }
+
+    /**
+     * 移除缓存
+     */
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+            segment.generations[stripeFor(key)]++;
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+                for (int i = 0; i < GENERATION_STRIPES; i++) {
+                    segment.generations[i]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * 当前条目数（含尚未清理的过期条目）
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 命中次数
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 未命中次数（含已过期）
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 因容量不足被淘汰的条目数
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    /**
+     * 段内的失效代数槽位，取与分段无关的哈希位
+     */
+    private static int stripeFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return (h >>> 4) & (GENERATION_STRIPES - 1);
+    }
+
+    private record Entry<V>(V value, long expireAt) {
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+
+        private final int capacity;
+        private final LongAdder evictions;
+        /** 失效代数，按key哈希分槽；只在持有段锁时读写 */
+        private final long[] generations = new long[GENERATION_STRIPES];
+
+        private Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
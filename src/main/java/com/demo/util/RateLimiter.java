@@ -0,0 +1,66 @@
+package com.demo.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁限流器（令牌桶，GCRA实现）
+ * 每个键只保存一个“理论到达时间”（TAT）：每放行一次 TAT 后移一个发放间隔，
+ * TAT 超出当前时间一个完整窗口时拒绝。判断和更新是对同一个 AtomicLong 的CAS，不加锁。
+ * TAT 不晚于当前时间的键等价于满桶，可以随时清除。
+ */
+public final class RateLimiter {
+
+    private final long intervalNanos;
+    private final long windowNanos;
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param permits     窗口内允许的请求数（桶容量，可一次性突发）
+     * @param windowNanos 窗口长度，桶从空到满的时间
+     */
+    public RateLimiter(int permits, long windowNanos) {
+        if (permits < 1 || windowNanos < permits) {
+            throw new IllegalArgumentException("限流参数无效：" + permits + "次/" + windowNanos + "ns");
+        }
+        this.intervalNanos = windowNanos / permits;
+        this.windowNanos = intervalNanos * permits;
+    }
+
+    /**
+     * 尝试获取一个许可
+     *
+     * @param key      限流键
+     * @param nowNanos 当前时间（System.nanoTime）
+     * @return 0表示放行；否则为被拒绝时还需等待的纳秒数
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long overflow = next - nowNanos - windowNanos;
+            if (overflow > 0) {
+                return overflow;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 清除已满的桶；与并发的 tryAcquire 竞争时最多多放行一次
+     */
+    public void evictIdle(long nowNanos) {
+        buckets.values().removeIf(tat -> tat.get() - nowNanos <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,54 @@
+package com.demo.util;
+
+import java.util.function.Supplier;
+
+/**
+ * 只读副本路由工具类
+ * 只读事务默认路由到副本；在 pinPrimary() 作用域内新获取的连接都使用主库，
+ * 用于读己之写和回填缓存（避免副本复制延迟期间把旧数据写入缓存）。
+ * 作用域只影响之后获取的连接，已经开启的只读事务不受影响。
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * 当前线程是否必须使用主库
+     */
+    public static boolean primaryRequired() {
+        return PRIMARY_PINNED.get() != null;
+    }
+
+    /**
+     * 在主库上执行
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        try (Scope ignored = pinPrimary()) {
+            return action.get();
+        }
+    }
+
+    /**
+     * 开始主库作用域，关闭时恢复之前的状态；可以嵌套
+     */
+    public static Scope pinPrimary() {
+        boolean previous = primaryRequired();
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        return () -> {
+            if (!previous) {
+                PRIMARY_PINNED.remove();
+            }
+        };
+    }
+
+    /**
+     * 主库作用域
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
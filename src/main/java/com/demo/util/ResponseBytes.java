@@ -0,0 +1,178 @@
+package com.demo.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 预先序列化的响应体
+ * 同时保存UTF-8原文和gzip压缩结果，输出时只需复制字节。
+ * 可在原文中预留一个插入点（如实时阅读量）：gzip变体由预压缩的前后两段加一个存放插入值的
+ * 未压缩块拼接而成，每次请求只需计算一次CRC32，不必重新压缩。
+ */
+public final class ResponseBytes {
+
+    /** gzip头：deflate算法，无文件名等可选字段，修改时间为0，操作系统未知 */
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final byte[] prefix;
+    /** 插入点之后的原文，没有插入点时为null */
+    private final byte[] suffix;
+    /** 没有插入点时为完整的gzip数据；有插入点时为gzip头 + 前段压缩数据（已同步刷新到字节边界） */
+    private final byte[] gzipPrefix;
+    /** 后段压缩数据（含结束块），没有插入点时为null */
+    private final byte[] gzipSuffix;
+
+    private ResponseBytes(byte[] prefix, byte[] suffix, byte[] gzipPrefix, byte[] gzipSuffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.gzipPrefix = gzipPrefix;
+        this.gzipSuffix = gzipSuffix;
+    }
+
+    /**
+     * 固定内容的响应体
+     */
+    public static ResponseBytes of(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        byte[] gzip = concat(GZIP_HEADER, deflate(body, true), trailer(crc.getValue(), body.length));
+        return new ResponseBytes(body, null, gzip, null);
+    }
+
+    /**
+     * 在 prefix 与 suffix 之间有一个插入点的响应体
+     */
+    public static ResponseBytes withInsert(byte[] prefix, byte[] suffix) {
+        return new ResponseBytes(prefix, suffix,
+                concat(GZIP_HEADER, deflate(prefix, false)), deflate(suffix, true));
+    }
+
+    /**
+     * 未压缩的响应体；没有插入点时返回共享数组，调用方不得修改
+     */
+    public byte[] plain(String insert) {
+        if (suffix == null) {
+            return prefix;
+        }
+        return concat(prefix, insert.getBytes(StandardCharsets.UTF_8), suffix);
+    }
+
+    /**
+     * gzip压缩的响应体；没有插入点时返回共享数组，调用方不得修改
+     */
+    public byte[] gzip(String insert) {
+        if (suffix == null) {
+            return gzipPrefix;
+        }
+        byte[] value = insert.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(prefix);
+        crc.update(value);
+        crc.update(suffix);
+        long size = (long) prefix.length + value.length + suffix.length;
+        return concat(gzipPrefix, storedBlock(value), gzipSuffix, trailer(crc.getValue(), size));
+    }
+
+    /**
+     * 根据 Accept-Encoding 判断客户端是否接受gzip：显式列出的gzip优先于通配符*，q=0表示不接受
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.trim().split(";");
+            String coding = params[0].trim();
+            boolean accepted = !isZeroQuality(params);
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                return accepted;
+            }
+            if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return wildcard;
+    }
+
+    private static boolean isZeroQuality(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 原始deflate压缩；不结束时以SYNC_FLUSH对齐到字节边界，后面可以直接拼接其他块
+     */
+    private static byte[] deflate(byte[] data, boolean finish) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            if (finish) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int n;
+                do {
+                    n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    out.write(buffer, 0, n);
+                } while (n == buffer.length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 未压缩的非结束块（BFINAL=0, BTYPE=00），内容最长65535字节
+     */
+    private static byte[] storedBlock(byte[] data) {
+        int len = data.length;
+        byte[] block = new byte[5 + len];
+        block[1] = (byte) len;
+        block[2] = (byte) (len >>> 8);
+        block[3] = (byte) ~len;
+        block[4] = (byte) (~len >>> 8);
+        System.arraycopy(data, 0, block, 5, len);
+        return block;
+    }
+
+    /**
+     * gzip尾部：CRC32与原文长度，均为小端序
+     */
+    private static byte[] trailer(long crc, long size) {
+        return new byte[]{
+                (byte) crc, (byte) (crc >>> 8), (byte) (crc >>> 16), (byte) (crc >>> 24),
+                (byte) size, (byte) (size >>> 8), (byte) (size >>> 16), (byte) (size >>> 24)
+        };
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] result = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+}
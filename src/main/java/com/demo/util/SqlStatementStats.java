@@ -0,0 +1,104 @@
+package com.demo.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 当前线程的SQL语句统计
+ * 由 Hibernate 的 StatementInspector 与会话事件监听器写入，记录语句条数、JDBC执行耗时和每条语句的执行次数。
+ * 统计可以嵌套：内层统计期间的语句同时计入外层。没有进行中的统计时，记录调用直接返回。
+ * <p>
+ * 集成测试中断言查询条数（需装有 SqlMonitorConfig 的统计配置，见 SqlMonitorConfigTest）：
+ * <pre>
+ * try (SqlStatementStats stats = SqlStatementStats.start()) {
+ *     entityManager.find(Article.class, articleId);
+ *     assertThat(stats.statementCount()).isEqualTo(1);
+ *     assertThat(stats.repeatedStatements(3)).isEmpty();
+ * }
+ * </pre>
+ * 经过 MockMvc 的请求可从请求属性 {@link #REQUEST_ATTRIBUTE} 取得该请求的统计。
+ */
+public final class SqlStatementStats implements AutoCloseable {
+
+    /** 请求级统计在请求属性中的键 */
+    public static final String REQUEST_ATTRIBUTE = SqlStatementStats.class.getName();
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementStats outer;
+    private final Map<String, Integer> executions = new LinkedHashMap<>();
+    private int statementCount;
+    private long jdbcTimeNanos;
+    private boolean closed;
+
+    private SqlStatementStats(SqlStatementStats outer) {
+        this.outer = outer;
+    }
+
+    /**
+     * 在当前线程开始统计，使用完毕后必须 close
+     */
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * 记录一条即将执行的SQL
+     */
+    public static void recordStatement(String sql) {
+        for (SqlStatementStats stats = CURRENT.get(); stats != null; stats = stats.outer) {
+            stats.statementCount++;
+            stats.executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * 记录一次JDBC执行耗时
+     */
+    public static void recordJdbcTime(long nanos) {
+        for (SqlStatementStats stats = CURRENT.get(); stats != null; stats = stats.outer) {
+            stats.jdbcTimeNanos += nanos;
+        }
+    }
+
+    public int statementCount() {
+        return statementCount;
+    }
+
+    public long jdbcTimeNanos() {
+        return jdbcTimeNanos;
+    }
+
+    /**
+     * 执行次数不少于 threshold 的语句及其次数，按首次执行的顺序排列；参数以?表示，同一语句多次出现通常意味着N+1查询
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executions.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    /**
+     * 结束统计，恢复外层统计；结束后的统计值保持不变，仍可读取
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (CURRENT.get() == this) {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.demo.config;
+
+import com.demo.util.ReplicaRouting;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 用两个H2内存库模拟主库和副本，各自的 node 表记录库名
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private HikariDataSource replica;
+    private ReplicaRoutingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readOnlyTx;
+
+    @BeforeEach
+    void setUp() {
+        HikariDataSource primary = database("primary");
+        replica = database("replica");
+        dataSource = new ReplicaRoutingDataSource(primary, List.of(replica), 1);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnlyTx = readOnly(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactionsAndPlainStatementsUsePrimary() {
+        assertThat(writeNode()).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    void pinnedReadsUsePrimary() {
+        assertThat(ReplicaRouting.onPrimary(this::readOnlyNode)).isEqualTo("primary");
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToPrimaryUntilHealthy() {
+        replica.close();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+        assertThat(dataSource.healthyReplicaCount()).isZero();
+
+        dataSource.checkReplicas();
+        assertThat(dataSource.healthyReplicaCount()).isZero();
+    }
+
+    @Test
+    void healthCheckRestoresReplica() {
+        // 副本库尚不存在，获取连接失败
+        String url = "jdbc:h2:mem:late-" + System.nanoTime();
+        HikariDataSource lateReplica = pool(url + ";IFEXISTS=TRUE");
+        lateReplica.setInitializationFailTimeout(-1);
+        dataSource.close();
+        dataSource = new ReplicaRoutingDataSource(database("primary"), List.of(lateReplica), 1);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnlyTx = readOnly(dataSource);
+        assertThat(readOnlyNode()).isEqualTo("primary");
+        assertThat(dataSource.healthyReplicaCount()).isZero();
+
+        // 副本库可用后，健康检查将其重新加入
+        HikariDataSource replicaDb = pool(url + ";DB_CLOSE_DELAY=-1");
+        createNode(replicaDb, "replica");
+        // 连接池在后台重建连接，给健康检查几次机会
+        for (int i = 0; i < 20 && dataSource.healthyReplicaCount() == 0; i++) {
+            dataSource.checkReplicas();
+        }
+        assertThat(dataSource.healthyReplicaCount()).isEqualTo(1);
+        assertThat(readOnlyNode()).isEqualTo("replica");
+        replicaDb.close();
+    }
+
+    private String readOnlyNode() {
+        return readOnlyTx.execute(status -> node());
+    }
+
+    private String writeNode() {
+        return writeTx.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static TransactionTemplate readOnly(ReplicaRoutingDataSource dataSource) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = pool("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        createNode(dataSource, name);
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setConnectionTimeout(250);
+        return dataSource;
+    }
+
+    private static void createNode(HikariDataSource dataSource, String name) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+    }
+}
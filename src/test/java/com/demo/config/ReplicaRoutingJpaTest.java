@@ -0,0 +1,158 @@
+package com.demo.config;
+
+import com.demo.entity.User;
+import com.demo.util.ReplicaRouting;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 经 JpaTransactionManager 的读写分离路由
+ * 主库和副本各是一个H2内存库，user 表中的用户名记录库名；事务内通过共享 EntityManager 查询，
+ * 与 Repository 的行为一致。
+ */
+class ReplicaRoutingJpaTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaRoutingDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager sharedEntityManager;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readOnlyTx;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        dataSource = new ReplicaRoutingDataSource(primary, List.of(replica), 1);
+
+        Map<String, Object> properties = new HashMap<>();
+        new ReplicaDataSourceConfig().replicaConnectionHandlingCustomizer().customize(properties);
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.demo.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        sharedEntityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        writeTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    @Test
+    void transactionsRouteIndependently() {
+        assertThat(readOnlyNode()).isEqualTo("replica");
+        assertThat(writeNode()).isEqualTo("primary");
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void entityManagerHeldForRequestStillRoutesPerTransaction() {
+        inRequest(() -> {
+            // 先执行只读事务，之后的写事务不能沿用其副本连接
+            assertThat(readOnlyNode()).isEqualTo("replica");
+            assertThat(writeNode()).isEqualTo("primary");
+            writeTx.executeWithoutResult(status -> sharedEntityManager.persist(user("written")));
+            assertThat(ReplicaRouting.onPrimary(this::readOnlyNode)).isEqualTo("primary");
+            assertThat(readOnlyNode()).isEqualTo("replica");
+            return null;
+        });
+
+        assertThat(usernames(primary)).contains("written");
+        assertThat(usernames(replica)).doesNotContain("written");
+    }
+
+    private String readOnlyNode() {
+        return readOnlyTx.execute(status -> node());
+    }
+
+    private String writeNode() {
+        return writeTx.execute(status -> node());
+    }
+
+    private String node() {
+        return sharedEntityManager.createQuery("SELECT u.username FROM User u ORDER BY u.userId", String.class)
+                .setMaxResults(1)
+                .getSingleResult();
+    }
+
+    /**
+     * 模拟 open-in-view：整个请求期间绑定同一个 EntityManager
+     */
+    private <T> T inRequest(Supplier<T> request) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            return request.get();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private static List<String> usernames(HikariDataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList("SELECT username FROM user", String.class);
+    }
+
+    private static User user(String username) {
+        return User.builder().username(username).password("x").createTime(LocalDateTime.now()).build();
+    }
+
+    /**
+     * 建库并写入以库名为用户名的用户；表结构由同一组实体生成
+     */
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + System.nanoTime()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setConnectionTimeout(1000);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(AvailableSettings.HBM2DDL_AUTO, "create");
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.demo.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.setPersistenceUnitName(name);
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory schema = factoryBean.getObject();
+        schema.close();
+
+        new JdbcTemplate(dataSource).update(
+                "INSERT INTO user (username, password, followers_count, following_count) VALUES (?, 'x', 0, 0)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,140 @@
+package com.demo.config;
+
+import com.demo.entity.Article;
+import com.demo.util.SqlStatementStats;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 在H2上启动装有 SqlMonitorConfig 的Hibernate，验证按线程统计的语句条数与重复语句
+ */
+class SqlMonitorConfigTest {
+
+    private EntityManagerFactory entityManagerFactory;
+    private List<Long> articleIds;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:sql-monitor-" + System.nanoTime()
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+        new SqlMonitorConfig().sqlStatementStatsCustomizer().customize(properties);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.demo.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        inTransaction(em -> {
+            for (int i = 1; i <= 3; i++) {
+                em.persist(Article.builder()
+                        .title("标题" + i)
+                        .content("内容" + i)
+                        .authorId(1L)
+                        .viewCount(0)
+                        .createTime(LocalDateTime.now())
+                        .build());
+            }
+        });
+        articleIds = inSession(em -> em.createQuery("SELECT a.articleId FROM Article a ORDER BY a.articleId", Long.class)
+                .getResultList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void countsStatementsIssuedByHibernate() {
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            inSession(em -> em.find(Article.class, articleIds.get(0)));
+
+            assertThat(stats.statementCount()).isEqualTo(1);
+            assertThat(stats.jdbcTimeNanos()).isPositive();
+            assertThat(stats.repeatedStatements(2)).isEmpty();
+        }
+    }
+
+    @Test
+    void reportsRepeatedStatementsAsSuspectedNPlusOne() {
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            // 逐条加载：同一语句执行3次
+            inSession(em -> articleIds.stream().map(id -> em.find(Article.class, id)).toList());
+            // 一次IN查询
+            inSession(em -> em.createQuery("SELECT a FROM Article a WHERE a.articleId IN :ids", Article.class)
+                    .setParameter("ids", articleIds)
+                    .getResultList());
+
+            assertThat(stats.statementCount()).isEqualTo(4);
+            assertThat(stats.repeatedStatements(3)).hasSize(1)
+                    .allSatisfy((sql, count) -> {
+                        assertThat(sql).contains("where a1_0.article_id=?");
+                        assertThat(count).isEqualTo(3);
+                    });
+        }
+    }
+
+    @Test
+    void nestedStatsAlsoCountTowardsOuter() {
+        try (SqlStatementStats outer = SqlStatementStats.start()) {
+            inSession(em -> em.find(Article.class, articleIds.get(0)));
+            try (SqlStatementStats inner = SqlStatementStats.start()) {
+                inSession(em -> em.find(Article.class, articleIds.get(1)));
+                assertThat(inner.statementCount()).isEqualTo(1);
+            }
+            assertThat(outer.statementCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void statementsOutsideStatsAreNotRecorded() {
+        SqlStatementStats stats = SqlStatementStats.start();
+        stats.close();
+
+        inSession(em -> em.find(Article.class, articleIds.get(0)));
+
+        assertThat(stats.statementCount()).isZero();
+    }
+
+    private void inTransaction(Consumer<EntityManager> work) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            work.accept(em);
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    private <T> T inSession(Function<EntityManager, T> work) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            return work.apply(em);
+        } finally {
+            em.close();
+        }
+    }
+}
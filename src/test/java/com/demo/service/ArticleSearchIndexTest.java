@@ -0,0 +1,69 @@
+package com.demo.service;
+
+import com.demo.entity.Article;
+import com.demo.repository.ArticleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 启动构建与增量更新并发：构建读到旧数据后，已提交的修改或删除先写入索引
+ */
+class ArticleSearchIndexTest {
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final ArticleSearchIndex index = new ArticleSearchIndex(articleRepository);
+
+    @Test
+    void buildIndexesAllArticles() {
+        when(articleRepository.findBatchAfter(anyLong(), any()))
+                .thenReturn(List.of(article(1L, "缓存设计"), article(2L, "索引优化")));
+
+        index.build();
+
+        assertThat(index.search("缓存")).containsExactly(1L);
+        assertThat(index.search("索引")).containsExactly(2L);
+    }
+
+    @Test
+    void buildDoesNotRestoreArticleDeletedMeanwhile() {
+        when(articleRepository.findBatchAfter(anyLong(), any())).thenAnswer(invocation -> {
+            List<Article> batch = List.of(article(1L, "缓存设计"));
+            index.remove(1L);
+            return batch;
+        });
+
+        index.build();
+
+        assertThat(index.search("缓存")).isEmpty();
+        assertThat(index.stats().documents()).isZero();
+    }
+
+    @Test
+    void buildDoesNotOverwriteArticleEditedMeanwhile() {
+        when(articleRepository.findBatchAfter(anyLong(), any())).thenAnswer(invocation -> {
+            List<Article> batch = List.of(article(1L, "缓存设计"));
+            index.index(1L, "索引优化", "正文", null);
+            return batch;
+        });
+
+        index.build();
+
+        assertThat(index.search("缓存")).isEmpty();
+        assertThat(index.search("索引")).containsExactly(1L);
+
+        // 构建结束后增量更新照常生效
+        index.index(1L, "缓存设计", "正文", null);
+        assertThat(index.search("缓存")).containsExactly(1L);
+    }
+
+    private static Article article(Long articleId, String title) {
+        return Article.builder().articleId(articleId).title(title).content("正文").build();
+    }
+}
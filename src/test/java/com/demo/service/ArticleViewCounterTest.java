@@ -0,0 +1,67 @@
+package com.demo.service;
+
+import com.demo.dto.response.ArticleDetailResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ArticleViewCounterTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ArticleDetailCache detailCache = new ArticleDetailCache(100, 600);
+    private final ArticleViewCounter counter = new ArticleViewCounter(mock(JdbcTemplate.class), detailCache,
+            new StaticListableBeanFactory(Map.of("registry", registry)).getBeanProvider(MeterRegistry.class));
+
+    @Test
+    void flushedCounterIsDiscardedOnNextFlush() {
+        counter.increment(1L);
+        counter.increment(1L);
+
+        counter.flush();
+        assertThat(counter.unflushed(1L)).isZero();
+        assertThat(counter.recorded(1L)).isEqualTo(2);
+
+        counter.flush();
+        assertThat(counter.recorded(1L)).isZero();
+        assertThat(registry.get("article.view.counters").gauge().value()).isZero();
+    }
+
+    @Test
+    void discardedViewsAreFoldedIntoCachedDetail() {
+        // 数据库中阅读量为10
+        ArticleDetailCache.Entry loaded = detailCache.get(1L, id -> entry(10));
+        counter.increment(1L);
+        counter.increment(1L);
+        counter.flush();
+        counter.flush();
+
+        ArticleDetailCache.Entry cached = detailCache.peek(1L);
+        assertThat(cached.viewBase() + counter.recorded(1L)).isEqualTo(loaded.viewBase() + 2);
+
+        counter.increment(1L);
+        assertThat(detailCache.peek(1L).viewBase() + counter.recorded(1L)).isEqualTo(13);
+    }
+
+    @Test
+    void counterWithNewViewsIsKept() {
+        counter.increment(1L);
+        counter.flush();
+        counter.increment(1L);
+
+        counter.flush();
+
+        assertThat(counter.recorded(1L)).isEqualTo(2);
+        assertThat(registry.get("article.view.counters").gauge().value()).isEqualTo(1);
+    }
+
+    private static ArticleDetailCache.Entry entry(long viewBase) {
+        return new ArticleDetailCache.Entry(ArticleDetailResponse.builder().articleId("1").build(), viewBase, -1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedTimelineCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Test
+    void pushReachesLoadedTimeline() {
+        FeedTimelineCache cache = new FeedTimelineCache(10, 100, 600);
+        cache.get(1L, id -> timeline(List.of(item(1))));
+
+        cache.push(List.of(1L), item(2));
+
+        assertThat(articleIds(cache.get(1L, id -> timeline(List.of())))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void pushRacingWithLoadDiscardsLoadedTimeline() {
+        FeedTimelineCache cache = new FeedTimelineCache(10, 100, 600);
+
+        // 构建读到提交前的数据后，新文章提交并推送
+        FeedTimelineCache.Timeline stale = cache.get(1L, id -> {
+            FeedTimelineCache.Timeline timeline = timeline(List.of(item(1)));
+            cache.push(List.of(id), item(2));
+            return timeline;
+        });
+
+        assertThat(articleIds(stale)).containsExactly(1L);
+        assertThat(articleIds(cache.get(1L, id -> timeline(List.of(item(2), item(1))))))
+                .containsExactly(2L, 1L);
+    }
+
+    private static FeedTimelineCache.Item item(long articleId) {
+        return new FeedTimelineCache.Item(articleId, NOW.plusMinutes(articleId));
+    }
+
+    private static FeedTimelineCache.Timeline timeline(List<FeedTimelineCache.Item> items) {
+        return new FeedTimelineCache.Timeline(List.of(2L), List.of(), new ArrayList<>(items), 10, true);
+    }
+
+    private static List<Long> articleIds(FeedTimelineCache.Timeline timeline) {
+        return timeline.after(null, 10).stream().map(FeedTimelineCache.Item::articleId).toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalCacheTest {
+
+    @Test
+    void loadedValueIsCached() {
+        LocalCache<Long, String> cache = new LocalCache<>(100, Duration.ofMinutes(1));
+
+        assertThat(cache.get(1L, id -> "v1")).isEqualTo("v1");
+        assertThat(cache.get(1L, id -> "v2")).isEqualTo("v1");
+    }
+
+    @Test
+    void loadRacingWithInvalidationIsNotCached() {
+        LocalCache<Long, String> cache = new LocalCache<>(100, Duration.ofMinutes(1));
+
+        // 加载读到旧数据后，写事务提交并失效该key
+        String loaded = cache.get(1L, id -> {
+            cache.invalidate(id);
+            return "stale";
+        });
+
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(1L, id -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.get(1L)).isEqualTo("fresh");
+    }
+
+    @Test
+    void computeIfPresentReplacesCachedValueOnly() {
+        LocalCache<Long, String> cache = new LocalCache<>(100, Duration.ofMinutes(1));
+        cache.put(1L, "v1");
+
+        cache.computeIfPresent(1L, value -> value + "+");
+        cache.computeIfPresent(2L, value -> value + "+");
+
+        assertThat(cache.get(1L)).isEqualTo("v1+");
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    @Test
+    void loadRacingWithComputeIfPresentIsNotCached() {
+        LocalCache<Long, String> cache = new LocalCache<>(100, Duration.ofMinutes(1));
+
+        cache.get(1L, id -> {
+            cache.computeIfPresent(id, value -> value + "+");
+            return "stale";
+        });
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void loadRacingWithInvalidateAllIsNotCached() {
+        LocalCache<Long, String> cache = new LocalCache<>(100, null);
+
+        cache.get(1L, id -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertThat(cache.get(1L)).isNull();
+    }
+}
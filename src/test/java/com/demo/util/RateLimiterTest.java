@@ -0,0 +1,61 @@
+package com.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burstUpToPermitsThenRejectsWithWaitTime() {
+        RateLimiter limiter = new RateLimiter(3, 3 * SECOND);
+        long now = 1_000 * SECOND;
+
+        assertThat(limiter.tryAcquire("a", now)).isZero();
+        assertThat(limiter.tryAcquire("a", now)).isZero();
+        assertThat(limiter.tryAcquire("a", now)).isZero();
+        assertThat(limiter.tryAcquire("a", now)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void permitsRefillAtSteadyRate() {
+        RateLimiter limiter = new RateLimiter(2, 2 * SECOND);
+        long now = 1_000 * SECOND;
+        limiter.tryAcquire("a", now);
+        limiter.tryAcquire("a", now);
+
+        assertThat(limiter.tryAcquire("a", now + SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(limiter.tryAcquire("a", now + SECOND)).isZero();
+        assertThat(limiter.tryAcquire("a", now + SECOND)).isPositive();
+    }
+
+    @Test
+    void keysAreIndependent() {
+        RateLimiter limiter = new RateLimiter(1, SECOND);
+        long now = 1_000 * SECOND;
+
+        assertThat(limiter.tryAcquire("a", now)).isZero();
+        assertThat(limiter.tryAcquire("a", now)).isPositive();
+        assertThat(limiter.tryAcquire("b", now)).isZero();
+    }
+
+    @Test
+    void onlyFullBucketsAreEvicted() {
+        RateLimiter limiter = new RateLimiter(2, 2 * SECOND);
+        long now = 1_000 * SECOND;
+        limiter.tryAcquire("idle", now);
+        limiter.tryAcquire("busy", now + SECOND);
+        limiter.tryAcquire("busy", now + SECOND);
+
+        limiter.evictIdle(now + 2 * SECOND);
+
+        // busy 保留了状态：距离突发只过了1秒，只补充了一个许可
+        assertThat(limiter.size()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("busy", now + 2 * SECOND)).isZero();
+        assertThat(limiter.tryAcquire("busy", now + 2 * SECOND)).isPositive();
+    }
+}
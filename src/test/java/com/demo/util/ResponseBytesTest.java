@@ -0,0 +1,52 @@
+package com.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBytesTest {
+
+    @Test
+    void fixedBodyRoundTripsThroughGzip() throws IOException {
+        byte[] body = "{\"error_code\":0,\"data\":{\"list\":[]}}".getBytes(StandardCharsets.UTF_8);
+        ResponseBytes bytes = ResponseBytes.of(body);
+
+        assertThat(bytes.plain(null)).isEqualTo(body);
+        assertThat(gunzip(bytes.gzip(null))).isEqualTo(body);
+    }
+
+    @Test
+    void insertIsSplicedIntoPlainAndGzipVariants() throws IOException {
+        String prefix = "{\"data\":{\"title\":\"标题\",\"view_count\":";
+        String suffix = ",\"content\":\"" + "正文内容".repeat(5000) + "\"}}";
+        ResponseBytes bytes = ResponseBytes.withInsert(
+                prefix.getBytes(StandardCharsets.UTF_8), suffix.getBytes(StandardCharsets.UTF_8));
+
+        for (String insert : new String[]{"0", "42", "1234567890"}) {
+            byte[] expected = (prefix + insert + suffix).getBytes(StandardCharsets.UTF_8);
+            assertThat(bytes.plain(insert)).isEqualTo(expected);
+            assertThat(gunzip(bytes.gzip(insert))).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void acceptEncodingHonoursQualityAndWildcard() {
+        assertThat(ResponseBytes.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(ResponseBytes.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(ResponseBytes.acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(ResponseBytes.acceptsGzip("*")).isTrue();
+        assertThat(ResponseBytes.acceptsGzip("identity")).isFalse();
+        assertThat(ResponseBytes.acceptsGzip(null)).isFalse();
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTokenizerTest {
+
+    @Test
+    void latinWordsAreLowercased() {
+        assertThat(SearchTokenizer.tokenizeForQuery("Spring-Boot 4.0"))
+                .containsExactly("spring", "boot", "4", "0");
+    }
+
+    @Test
+    void cjkRunsAreSplitIntoBigramsForQuery() {
+        assertThat(SearchTokenizer.tokenizeForQuery("数据库"))
+                .containsExactly("数据", "据库");
+    }
+
+    @Test
+    void cjkRunsAlsoEmitUnigramsForIndex() {
+        assertThat(SearchTokenizer.tokenizeForIndex("数据库"))
+                .containsExactly("数", "数据", "据", "据库", "库");
+    }
+
+    @Test
+    void singleCjkCharacterIsKept() {
+        assertThat(SearchTokenizer.tokenizeForQuery("库")).containsExactly("库");
+    }
+
+    @Test
+    void mixedScriptsAreSplitAtBoundaries() {
+        assertThat(SearchTokenizer.tokenizeForQuery("MySQL索引"))
+                .containsExactly("mysql", "索引");
+    }
+
+    @Test
+    void blankTextHasNoTokens() {
+        assertThat(SearchTokenizer.tokenizeForIndex(null)).isEmpty();
+        assertThat(SearchTokenizer.tokenizeForIndex("  ,. ")).isEmpty();
+    }
+}